@@ -0,0 +1,105 @@
+package demos.benchmarks;
+
+import javafx.animation.Interpolator;
+import javafx.animation.KeyFrame;
+import javafx.animation.KeyValue;
+import javafx.animation.Timeline;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Node;
+import javafx.scene.shape.Rectangle;
+import javafx.stage.Stage;
+import javafx.util.Duration;
+
+import com.jfoenix.transitions.CachedTransition;
+
+/*
+ * measures the cost of one CachedTransition frame, comparing the key frames engine
+ * with the previous implementation that played and stopped the timeline every frame.
+ * 
+ * args : [frames]
+ */
+public class CachedTransitionBenchmark extends Application {
+
+	private static final int FRAMES = 200_000;
+	private static final int WARMUP = 50_000;
+
+	@Override
+	public void start(Stage stage) throws Exception {
+		final int frames = getParameters().getRaw().size() > 0 ? Integer.parseInt(getParameters().getRaw().get(0)) : FRAMES;
+
+		Rectangle engineNode = new Rectangle(100, 100);
+		Rectangle timelineNode = new Rectangle(100, 100);
+		FrameTransition engine = new FrameTransition(engineNode, false);
+		FrameTransition timeline = new FrameTransition(timelineNode, true);
+
+		// both implementations must give the same values
+		double maxDifference = 0;
+		for(int i = 0; i <= 100; i++){
+			engine.frame(i / 100.0);
+			timeline.frame(i / 100.0);
+			maxDifference = Math.max(maxDifference, Math.abs(engineNode.getTranslateX() - timelineNode.getTranslateX()));
+			maxDifference = Math.max(maxDifference, Math.abs(engineNode.getRotate() - timelineNode.getRotate()));
+			maxDifference = Math.max(maxDifference, Math.abs(engineNode.getOpacity() - timelineNode.getOpacity()));
+			maxDifference = Math.max(maxDifference, Math.abs(engineNode.getScaleX() - timelineNode.getScaleX()));
+		}
+
+		run(engine, WARMUP);
+		run(timeline, WARMUP);
+		long engineTime = run(engine, frames);
+		long timelineTime = run(timeline, frames);
+
+		System.out.println("frames : " + frames);
+		System.out.println(String.format("timeline playFrom/stop : %.1f ns/frame", (double) timelineTime / frames));
+		System.out.println(String.format("key frames engine      : %.1f ns/frame", (double) engineTime / frames));
+		System.out.println("max difference : " + maxDifference);
+		Platform.exit();
+	}
+
+	private static long run(FrameTransition transition, int frames){
+		final long start = System.nanoTime();
+		for(int i = 0; i < frames; i++) transition.frame((i % 1000) / 1000.0);
+		return System.nanoTime() - start;
+	}
+
+	private static class FrameTransition extends CachedTransition {
+		private final boolean playTimeline;
+
+		FrameTransition(Node node, boolean playTimeline) {
+			super(node, new Timeline(
+					new KeyFrame(Duration.ZERO,
+							new KeyValue(node.translateXProperty(), 0, Interpolator.EASE_BOTH),
+							new KeyValue(node.rotateProperty(), 0, Interpolator.EASE_BOTH),
+							new KeyValue(node.opacityProperty(), 0, Interpolator.EASE_BOTH),
+							new KeyValue(node.scaleXProperty(), 1, Interpolator.EASE_BOTH)),
+					new KeyFrame(Duration.millis(500),
+							new KeyValue(node.translateXProperty(), 200, Interpolator.EASE_BOTH),
+							new KeyValue(node.rotateProperty(), 45, Interpolator.EASE_BOTH)),
+					new KeyFrame(Duration.millis(1000),
+							new KeyValue(node.translateXProperty(), 300, Interpolator.EASE_BOTH),
+							new KeyValue(node.rotateProperty(), 90, Interpolator.EASE_BOTH),
+							new KeyValue(node.opacityProperty(), 1, Interpolator.EASE_BOTH),
+							new KeyValue(node.scaleXProperty(), 2, Interpolator.LINEAR))));
+			this.playTimeline = playTimeline;
+		}
+
+		void frame(double fraction){
+			interpolate(fraction);
+		}
+
+		@Override
+		protected void interpolate(double d) {
+			if(playTimeline){
+				// previous implementation
+				timeline.get().playFrom(Duration.seconds(d));
+				timeline.get().stop();
+			}else{
+				super.interpolate(d);
+			}
+		}
+	}
+
+	public static void main(String[] args) {
+		launch(args);
+	}
+}
@@ -0,0 +1,92 @@
+package demos.benchmarks;
+
+import java.util.Arrays;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.geometry.Insets;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.layout.StackPane;
+import javafx.stage.Stage;
+
+import com.jfoenix.controls.JFXListView;
+import com.jfoenix.effects.JFXDepthManager;
+import com.jfoenix.effects.JFXDepthManager.DepthMode;
+
+/*
+ * scrolls a depth 2 list view one row per frame using each depth mode 
+ * and prints the frame times, it also checks that switching the depth mode 
+ * doesn't change the insets (i.e the layout) of the list view.
+ * 
+ * run with -Djavafx.animation.fullspeed=true -Dprism.vsync=false to get 
+ * frame times that are not capped by the screen refresh rate.
+ * 
+ * args : [frames per mode]
+ */
+public class DepthListBenchmark extends Application {
+
+	private static final int FRAMES = 600;
+	private static final int ITEMS = 10_000;
+
+	@Override
+	public void start(Stage stage) throws Exception {
+		final int frames = getParameters().getRaw().size() > 0 ? Integer.parseInt(getParameters().getRaw().get(0)) : FRAMES;
+
+		JFXListView<Label> list = new JFXListView<>();
+		for(int i = 0 ; i < ITEMS ; i++) list.getItems().add(new Label("Item " + i));
+
+		StackPane main = new StackPane(list);
+		main.setStyle("-fx-padding: 40;");
+		stage.setScene(new Scene(main, 500, 700));
+		stage.setTitle("JFX Depth List Benchmark");
+		stage.show();
+		final Insets insets = list.getInsets();
+
+		final DepthMode[] modes = DepthMode.values();
+		new AnimationTimer() {
+			private int mode = -1;
+			private int frame = 0;
+			private long last = 0;
+			private final long[] times = new long[frames];
+
+			@Override
+			public void handle(long now) {
+				if(mode == -1 || frame == frames){
+					if(mode >= 0) print(modes[mode], times);
+					if(++mode == modes.length){
+						stop();
+						Platform.exit();
+						return;
+					}
+					// the list skin applies the default mode when the depth changes
+					JFXDepthManager.setDefaultMode(modes[mode]);
+					list.setDepthProperty(0);
+					list.setDepthProperty(2);
+					if(!insets.equals(list.getInsets()))
+						System.out.println(modes[mode] + " changed the list insets from " + insets + " to " + list.getInsets());
+					frame = 0;
+					last = 0;
+				}else{
+					if(last != 0) times[frame++] = now - last;
+					list.scrollTo((mode * frames + frame) % ITEMS);
+				}
+				last = now;
+			}
+		}.start();
+	}
+
+	private static void print(DepthMode mode, long[] times){
+		long[] sorted = times.clone();
+		Arrays.sort(sorted);
+		long total = 0;
+		for(long time : sorted) total += time;
+		System.out.println(String.format("%-14s avg %6.2f ms   p95 %6.2f ms   max %6.2f ms", mode,
+				total / 1e6 / sorted.length, sorted[(int) (sorted.length * 0.95)] / 1e6, sorted[sorted.length - 1] / 1e6));
+	}
+
+	public static void main(String[] args) {
+		launch(args);
+	}
+}
@@ -0,0 +1,108 @@
+package demos.benchmarks;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.StackPane;
+import javafx.stage.Stage;
+import javafx.util.Duration;
+
+import com.jfoenix.controls.JFXRippler;
+
+/*
+ * clicks a rippler 1000 times (resizing it half way) and counts 
+ * the ripple shapes and the mask shapes created during the run.
+ * 
+ * args : [click interval in ms] [clicks]
+ */
+public class RipplerMaskBenchmark extends Application {
+
+	private static final int CLICKS = 1000;
+	private static final int INTERVAL = 60;
+
+	private final Set<Node> ripples = Collections.newSetFromMap(new IdentityHashMap<>());
+	private final Set<Node> masks = Collections.newSetFromMap(new IdentityHashMap<>());
+	private int clicks = 0;
+
+	@Override
+	public void start(Stage stage) throws Exception {
+		final int interval = getParameters().getRaw().size() > 0 ? Integer.parseInt(getParameters().getRaw().get(0)) : INTERVAL;
+		final int total = getParameters().getRaw().size() > 1 ? Integer.parseInt(getParameters().getRaw().get(1)) : CLICKS;
+
+		Label label = new Label("Rippler");
+		label.setPrefSize(200, 60);
+		CountingRippler rippler = new CountingRippler(label);
+
+		StackPane main = new StackPane(rippler);
+		stage.setScene(new Scene(main, 400, 200));
+		stage.setTitle("JFX Rippler Mask Benchmark");
+		stage.show();
+
+		Timeline clicker = new Timeline(new KeyFrame(Duration.millis(interval), (e)->{
+			rippler.click();
+			collect(rippler);
+			if(++clicks == total / 2) label.setPrefSize(300, 80);
+		}));
+		clicker.setCycleCount(total);
+		clicker.setOnFinished((e)->{
+			System.out.println("clicks : " + clicks);
+			System.out.println("getMask() calls : " + rippler.maskCalls);
+			System.out.println("distinct ripple shapes : " + ripples.size());
+			System.out.println("distinct mask shapes : " + masks.size());
+			System.out.println("shapes per 1000 clicks : " + (ripples.size() + masks.size()) * 1000 / clicks);
+			Platform.exit();
+		});
+		clicker.play();
+	}
+
+	private void collect(CountingRippler rippler){
+		for(Node child : rippler.getGenerator().getChildren()){
+			ripples.add(child);
+			if(child.getClip() != null) masks.add(child.getClip());
+		}
+	}
+
+	private static class CountingRippler extends JFXRippler {
+		private int maskCalls = 0;
+
+		CountingRippler(Node control) {
+			super(control);
+		}
+
+		@Override
+		protected Node getMask() {
+			maskCalls++;
+			return super.getMask();
+		}
+
+		Group getGenerator(){
+			return (Group) ripplerPane.getChildren().get(0);
+		}
+
+		void click(){
+			double x = ripplerPane.getWidth() / 2, y = ripplerPane.getHeight() / 2;
+			fireEventProgrammatically(mouseEvent(MouseEvent.MOUSE_PRESSED, x, y));
+			fireEventProgrammatically(mouseEvent(MouseEvent.MOUSE_RELEASED, x, y));
+		}
+
+		private MouseEvent mouseEvent(javafx.event.EventType<MouseEvent> type, double x, double y){
+			return new MouseEvent(type, x, y, x, y, MouseButton.PRIMARY, 1,
+					false, false, false, false, true, false, false, true, false, false, null);
+		}
+	}
+
+	public static void main(String[] args) {
+		launch(args);
+	}
+}
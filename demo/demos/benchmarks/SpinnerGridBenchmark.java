@@ -0,0 +1,90 @@
+package demos.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.layout.FlowPane;
+import javafx.stage.Stage;
+
+import com.jfoenix.controls.JFXSpinner;
+import com.jfoenix.controls.JFXSpinner.SpinnerRenderMode;
+
+/*
+ * animates a grid of spinners with each render mode and prints the frame times.
+ * 
+ * run with -Djavafx.animation.fullspeed=true -Dprism.vsync=false to get 
+ * frame times that are not capped by the screen refresh rate.
+ * 
+ * args : [spinners] [frames per mode]
+ */
+public class SpinnerGridBenchmark extends Application {
+
+	private static final int SPINNERS = 100;
+	private static final int FRAMES = 600;
+	// frames skipped after switching mode (frames rendering, first layout)
+	private static final int WARMUP = 30;
+
+	@Override
+	public void start(Stage stage) throws Exception {
+		final int count = getParameters().getRaw().size() > 0 ? Integer.parseInt(getParameters().getRaw().get(0)) : SPINNERS;
+		final int frames = getParameters().getRaw().size() > 1 ? Integer.parseInt(getParameters().getRaw().get(1)) : FRAMES;
+
+		FlowPane grid = new FlowPane(10, 10);
+		List<JFXSpinner> spinners = new ArrayList<>();
+		for(int i = 0 ; i < count ; i++){
+			JFXSpinner spinner = new JFXSpinner();
+			spinners.add(spinner);
+			grid.getChildren().add(spinner);
+		}
+		stage.setScene(new Scene(grid, 600, 600));
+		stage.setTitle("JFX Spinner Grid Benchmark");
+		stage.show();
+
+		final SpinnerRenderMode[] modes = SpinnerRenderMode.values();
+		new AnimationTimer() {
+			private int mode = -1;
+			private int frame = 0;
+			private long last = 0;
+			private final long[] times = new long[frames];
+
+			@Override
+			public void handle(long now) {
+				if(mode == -1 || frame == frames + WARMUP){
+					if(mode >= 0) print(modes[mode], times);
+					if(++mode == modes.length){
+						stop();
+						Platform.exit();
+						return;
+					}
+					for(JFXSpinner spinner : spinners) spinner.setRenderMode(modes[mode]);
+					frame = 0;
+					last = 0;
+				}else{
+					if(last != 0){
+						if(frame >= WARMUP) times[frame - WARMUP] = now - last;
+						frame++;
+					}
+				}
+				last = now;
+			}
+		}.start();
+	}
+
+	private static void print(SpinnerRenderMode mode, long[] times){
+		long[] sorted = times.clone();
+		Arrays.sort(sorted);
+		long total = 0;
+		for(long time : sorted) total += time;
+		System.out.println(String.format("%-14s avg %6.2f ms   p95 %6.2f ms   max %6.2f ms", mode,
+				total / 1e6 / sorted.length, sorted[(int) (sorted.length * 0.95)] / 1e6, sorted[sorted.length - 1] / 1e6));
+	}
+
+	public static void main(String[] args) {
+		launch(args);
+	}
+}
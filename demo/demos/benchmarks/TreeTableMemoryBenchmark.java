@@ -0,0 +1,117 @@
+package demos.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.jfoenix.controls.datamodels.treetable.ColumnarTreeTableModel;
+import com.jfoenix.controls.datamodels.treetable.ColumnarTreeTableModel.DoubleColumn;
+import com.jfoenix.controls.datamodels.treetable.ColumnarTreeTableModel.IntColumn;
+import com.jfoenix.controls.datamodels.treetable.RecursiveTreeObject;
+
+/*
+ * measures the memory overhead per row of the tree table data models,
+ * eager rows allocate the children list and the grouping properties 
+ * of each row as RecursiveTreeObject used to do. 
+ * 
+ * run with a fixed heap for stable results, e.g. -Xms2g -Xmx2g
+ */
+public class TreeTableMemoryBenchmark {
+
+	private static final int ROWS = 1_000_000;
+
+	public static void main(String[] args) {
+		final int rows = args.length > 0 ? Integer.parseInt(args[0]) : ROWS;
+
+		long plain = measure(() -> {
+			List<Object> data = new ArrayList<>(rows);
+			for(int i = 0 ; i < rows; i++) data.add(new PlainRow(i, i));
+			return data;
+		});
+
+		long eager = measure(() -> {
+			List<Object> data = new ArrayList<>(rows);
+			for(int i = 0 ; i < rows; i++){
+				Row row = new Row(i, i);
+				// force the allocations done before lazy allocation
+				row.getChildren();
+				row.groupedColumnProperty();
+				row.groupedValueProperty();
+				data.add(row);
+			}
+			return data;
+		});
+
+		long lazy = measure(() -> {
+			List<Object> data = new ArrayList<>(rows);
+			for(int i = 0 ; i < rows; i++) data.add(new Row(i, i));
+			return data;
+		});
+
+		long columnar = measure(() -> {
+			ColumnarTreeTableModel model = new ColumnarTreeTableModel(rows);
+			IntColumn idColumn = model.addIntColumn("id");
+			DoubleColumn valueColumn = model.addDoubleColumn("value");
+			model.addRows(rows);
+			for(int i = 0 ; i < rows; i++){
+				idColumn.setInt(i, i);
+				valueColumn.setDouble(i, i);
+			}
+			return model;
+		});
+
+		System.out.println("rows : " + rows);
+		print("plain objects (reference)", plain, rows);
+		print("RecursiveTreeObject eager", eager, rows);
+		print("RecursiveTreeObject lazy", lazy, rows);
+		print("ColumnarTreeTableModel", columnar, rows);
+		System.out.println(String.format("saved per row (eager - lazy) : %d bytes", (eager - lazy) / rows));
+	}
+
+	private static long measure(Allocation allocation){
+		long before = usedMemory();
+		Object data = allocation.allocate();
+		long after = usedMemory();
+		// keep the data reachable while measuring
+		if(data.hashCode() == 0) System.out.print("");
+		return after - before;
+	}
+
+	private static long usedMemory(){
+		Runtime runtime = Runtime.getRuntime();
+		for(int i = 0 ; i < 5; i++){
+			System.gc();
+			try {
+				Thread.sleep(100);
+			} catch (InterruptedException e) {
+				e.printStackTrace();
+			}
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	private static void print(String name, long bytes, int rows){
+		System.out.println(String.format("%-28s: %8d KB total, %4d bytes per row", name, bytes / 1024, bytes / rows));
+	}
+
+	private interface Allocation {
+		Object allocate();
+	}
+
+	static class PlainRow {
+		int id;
+		double value;
+		PlainRow(int id, double value) {
+			this.id = id;
+			this.value = value;
+		}
+	}
+
+	static class Row extends RecursiveTreeObject<Row> {
+		int id;
+		double value;
+		Row(int id, double value) {
+			this.id = id;
+			this.value = value;
+		}
+	}
+}
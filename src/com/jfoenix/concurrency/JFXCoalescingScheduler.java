@@ -0,0 +1,187 @@
+/*
+ * JFoenix
+ * Copyright (c) 2015, JFoenix and/or its affiliates., All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+
+package com.jfoenix.concurrency;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * JFXCoalescingScheduler runs background jobs (e.g filtering / grouping of tree tables)
+ * on a fixed number of worker threads shared by all controls. 
+ * Jobs are scheduled by key after a debounce delay, scheduling a new job
+ * cancels the pending or running job of the same key (latest wins).
+ * Running jobs are cancelled cooperatively through {@link Job#isCancelled()}.
+ */
+public class JFXCoalescingScheduler {
+
+	private static JFXCoalescingScheduler defaultScheduler;
+
+	public static synchronized JFXCoalescingScheduler getDefault(){
+		if(defaultScheduler == null)
+			defaultScheduler = new JFXCoalescingScheduler(Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+		return defaultScheduler;
+	}
+
+	/**
+	 * replaces the default scheduler, the previous default scheduler is shut down 
+	 * once its pending jobs are executed, so it must not be used afterwards
+	 */
+	public static synchronized void setDefault(JFXCoalescingScheduler scheduler){
+		if(defaultScheduler != null && defaultScheduler != scheduler) defaultScheduler.executor.shutdown();
+		defaultScheduler = scheduler;
+	}
+
+	private final ScheduledThreadPoolExecutor executor;
+	private final ConcurrentHashMap<Object, Job> jobs = new ConcurrentHashMap<>();
+	private volatile long debounce = 500;
+
+	// metrics
+	private final AtomicInteger queuedJobs = new AtomicInteger();
+	private final AtomicLong cancelledJobs = new AtomicLong();
+	private final AtomicLong completedJobs = new AtomicLong();
+
+	public JFXCoalescingScheduler(int workers) {
+		final AtomicInteger threadIndex = new AtomicInteger();
+		executor = new ScheduledThreadPoolExecutor(workers, runnable -> {
+			Thread thread = new Thread(runnable, "JFoenix-Scheduler-" + threadIndex.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		executor.setRemoveOnCancelPolicy(true);
+	}
+
+	/**
+	 * schedule a job using the default debounce delay
+	 * 
+	 * @param key jobs with the same key are coalesced, only the latest one is executed 
+	 * @param task the job body, it should check {@link Job#isCancelled()} while running
+	 * @return the scheduled job
+	 */
+	public Job schedule(Object key, Consumer<Job> task){
+		return schedule(key, debounce, task);
+	}
+
+	public Job schedule(Object key, long delayMillis, Consumer<Job> task){
+		final Job job = new Job(key, task);
+		final Job oldJob = jobs.put(key, job);
+		if(oldJob != null) oldJob.cancel();
+		queuedJobs.incrementAndGet();
+		job.setFuture(executor.schedule(job::run, delayMillis, TimeUnit.MILLISECONDS));
+		return job;
+	}
+
+	/**
+	 * cancel the pending or running job of the specified key 
+	 */
+	public void cancel(Object key){
+		final Job job = jobs.remove(key);
+		if(job != null) job.cancel();
+	}
+
+	/**
+	 * stops the worker threads, pending jobs are dropped and running jobs are interrupted
+	 */
+	public void shutdown(){
+		executor.shutdownNow();
+	}
+
+	public long getDebounce() {
+		return debounce;
+	}
+
+	/**
+	 * @param debounce the default delay in milliseconds before a scheduled job is executed
+	 */
+	public void setDebounce(long debounce) {
+		this.debounce = debounce;
+	}
+
+	public int getWorkersCount(){
+		return executor.getCorePoolSize();
+	}
+
+	public int getQueuedJobsCount(){
+		return queuedJobs.get();
+	}
+
+	public long getCancelledJobsCount(){
+		return cancelledJobs.get();
+	}
+
+	public long getCompletedJobsCount(){
+		return completedJobs.get();
+	}
+
+
+	public final class Job {
+		private final Object key;
+		private final Consumer<Job> task;
+		private final AtomicBoolean started = new AtomicBoolean(false);
+		private final AtomicBoolean cancelled = new AtomicBoolean(false);
+		private volatile Future<?> future;
+
+		private Job(Object key, Consumer<Job> task) {
+			this.key = key;
+			this.task = task;
+		}
+
+		public Object getKey() {
+			return key;
+		}
+
+		public boolean isCancelled(){
+			return cancelled.get();
+		}
+
+		public void cancel(){
+			if(cancelled.compareAndSet(false, true)){
+				cancelledJobs.incrementAndGet();
+				// the job is still waiting in the queue
+				if(started.compareAndSet(false, true)) queuedJobs.decrementAndGet();
+				final Future<?> future = this.future;
+				if(future != null) future.cancel(false);
+				jobs.remove(key, this);
+			}
+		}
+
+		private void setFuture(Future<?> future){
+			this.future = future;
+			if(cancelled.get()) future.cancel(false);
+		}
+
+		private void run(){
+			if(!started.compareAndSet(false, true)) return;
+			queuedJobs.decrementAndGet();
+			try{
+				task.accept(this);
+			}catch(Exception e){
+				e.printStackTrace();
+			}finally{
+				jobs.remove(key, this);
+				if(!cancelled.get()) completedJobs.incrementAndGet();
+			}
+		}
+	}
+}
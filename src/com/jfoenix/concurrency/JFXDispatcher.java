@@ -0,0 +1,212 @@
+/*
+ * JFoenix
+ * Copyright (c) 2015, JFoenix and/or its affiliates., All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.jfoenix.concurrency;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+
+import com.jfoenix.instrumentation.JFXInstrumentation;
+
+/**
+ * JFXDispatcher batches the tasks posted to the FX thread, instead of calling 
+ * {@link Platform#runLater(Runnable)} for each task, tasks are queued in a lock free
+ * queue and drained once per pulse. 
+ * Tasks posted with a key are coalesced, only the latest task of each key is executed
+ * (e.g updating a control with the latest value of a data feed).
+ */
+public class JFXDispatcher {
+
+	private static JFXDispatcher defaultDispatcher;
+
+	public static synchronized JFXDispatcher getDefault(){
+		if(defaultDispatcher == null) defaultDispatcher = new JFXDispatcher();
+		return defaultDispatcher;
+	}
+
+	// multiple producers, single consumer (FX thread)
+	private final ConcurrentLinkedQueue<Object> queue = new ConcurrentLinkedQueue<>();
+	private final ConcurrentHashMap<Object, Runnable> keyedTasks = new ConcurrentHashMap<>();
+	private final AtomicBoolean active = new AtomicBoolean(false);
+
+	// metrics
+	private final AtomicInteger queueDepth = new AtomicInteger();
+	private final AtomicLong executedTasks = new AtomicLong();
+	private final AtomicLong coalescedTasks = new AtomicLong();
+	private volatile long pulses = 0;
+	private volatile long lastDrainTime = 0;
+	private volatile long maxDrainTime = 0;
+	private volatile int lastDrainCount = 0;
+
+	private final AnimationTimer pulse = new AnimationTimer() {
+		@Override
+		public void handle(long now) {
+			drain();
+		}
+	};
+
+	/**
+	 * post a task to be executed on the FX thread in the next pulse
+	 */
+	public void post(Runnable task){
+		enqueue(task);
+	}
+
+	/**
+	 * post a keyed task to be executed on the FX thread in the next pulse,
+	 * if a task with the same key is still pending it's replaced by the new one
+	 * 
+	 * @param key tasks of the same key are coalesced
+	 * @param task the task to execute
+	 */
+	public void post(Object key, Runnable task){
+		if(keyedTasks.put(key, task) == null) enqueue(new KeyedTask(key));
+		else coalescedTasks.incrementAndGet();
+	}
+
+	/**
+	 * post a task and wait until it's executed, the task is executed 
+	 * directly if called from the FX thread
+	 * 
+	 * @throws InterruptedException if the current thread is interrupted while waiting
+	 */
+	public void postAndWait(Runnable task) throws InterruptedException {
+		if(Platform.isFxApplicationThread()){
+			task.run();
+			return;
+		}
+		final FutureTask<Void> futureTask = new FutureTask<>(task, null);
+		enqueue(futureTask);
+		try {
+			futureTask.get();
+		} catch (ExecutionException e) {
+			if(e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+			if(e.getCause() instanceof Error) throw (Error) e.getCause();
+			throw new RuntimeException(e.getCause());
+		}
+	}
+
+	private void enqueue(Object task){
+		queueDepth.incrementAndGet();
+		queue.offer(task);
+		if(active.compareAndSet(false, true)) Platform.runLater(pulse::start);
+	}
+
+	/*
+	 * executed on the FX thread, only the tasks queued before draining are executed 
+	 * so producers can't keep the FX thread busy in a single pulse
+	 */
+	private void drain(){
+		final long instrumentationStart = JFXInstrumentation.start();
+		final long start = System.nanoTime();
+		final int size = queueDepth.get();
+		int count = 0, executed = 0;
+		Object entry;
+		while(count < size && (entry = queue.poll()) != null){
+			queueDepth.decrementAndGet();
+			count++;
+			Runnable task = entry instanceof KeyedTask ? keyedTasks.remove(((KeyedTask) entry).key) : (Runnable) entry;
+			// the task of a keyed entry could be already executed by a previous entry of the same key
+			if(task == null) continue;
+			executed++;
+			try{
+				task.run();
+			}catch(Throwable e){
+				e.printStackTrace();
+			}
+		}
+		executedTasks.addAndGet(executed);
+		final long drainTime = System.nanoTime() - start;
+		lastDrainTime = drainTime;
+		lastDrainCount = executed;
+		if(drainTime > maxDrainTime) maxDrainTime = drainTime;
+		pulses++;
+		JFXInstrumentation.stop("JFXDispatcher.drain", instrumentationStart);
+
+		// stop the pulse when idle, restart it if a task was queued meanwhile
+		if(queue.isEmpty()){
+			pulse.stop();
+			active.set(false);
+			if(!queue.isEmpty() && active.compareAndSet(false, true)) pulse.start();
+		}
+	}
+
+	/**
+	 * @return number of tasks waiting for the next pulse
+	 */
+	public int getQueueDepth(){
+		return queueDepth.get();
+	}
+
+	/**
+	 * @return drain time of the last pulse in nanoseconds
+	 */
+	public long getLastDrainTime(){
+		return lastDrainTime;
+	}
+
+	/**
+	 * @return max drain time of a single pulse in nanoseconds
+	 */
+	public long getMaxDrainTime(){
+		return maxDrainTime;
+	}
+
+	/**
+	 * @return number of tasks executed in the last pulse
+	 */
+	public int getLastDrainCount(){
+		return lastDrainCount;
+	}
+
+	public long getPulsesCount(){
+		return pulses;
+	}
+
+	public long getExecutedTasksCount(){
+		return executedTasks.get();
+	}
+
+	/**
+	 * @return number of keyed tasks replaced by a newer task before being executed
+	 */
+	public long getCoalescedTasksCount(){
+		return coalescedTasks.get();
+	}
+
+	public void resetMetrics(){
+		maxDrainTime = 0;
+		lastDrainTime = 0;
+		lastDrainCount = 0;
+	}
+
+	private static final class KeyedTask {
+		private final Object key;
+
+		KeyedTask(Object key) {
+			this.key = key;
+		}
+	}
+}
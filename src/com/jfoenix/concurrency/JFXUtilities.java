@@ -18,12 +18,22 @@
 
 package com.jfoenix.concurrency;
 
-import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CompletableFuture;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 import javafx.application.Platform;
 
+import com.jfoenix.instrumentation.JFXInstrumentation;
+
 /**
  * @author pmoufarrej
+ * 
+ * tasks posted from other threads are executed by the default {@link JFXDispatcher}
  */
 public class JFXUtilities {
 
@@ -32,27 +42,93 @@ public class JFXUtilities {
 			doRun.run();
 			return;
 		}
-		Platform.runLater(doRun);
+		JFXDispatcher.getDefault().post(JFXInstrumentation.wrap("JFXUtilities.runInFX", doRun));
 	}
 
+	/**
+	 * the exception thrown by the task, if any, is rethrown in the calling thread
+	 */
 	public static void runInFXAndWait(Runnable doRun) {
 		if (Platform.isFxApplicationThread()) {
 			doRun.run();
 			return;
 		}
-		final CountDownLatch doneLatch = new CountDownLatch(1);
-		Platform.runLater(() -> {
-			try {
-				doRun.run();
-			}
-			finally {
-				doneLatch.countDown();
-			}
-		});
 		try {
-			doneLatch.await();
+			JFXDispatcher.getDefault().postAndWait(JFXInstrumentation.wrap("JFXUtilities.runInFXAndWait", doRun));
 		}
 		catch (InterruptedException e) {
+			// restore the interrupted status of the waiting thread
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	/**
+	 * runs the supplier on the FX thread without blocking the calling thread,
+	 * the supplier is executed directly if called from the FX thread 
+	 * 
+	 * @return future completed with the supplier result, or exceptionally 
+	 * with the exception thrown by the supplier
+	 */
+	public static <T> CompletableFuture<T> supplyInFX(Supplier<T> supplier) {
+		final CompletableFuture<T> future = new CompletableFuture<>();
+		if (Platform.isFxApplicationThread()) {
+			complete(future, supplier);
+			return future;
+		}
+		JFXDispatcher.getDefault().post(JFXInstrumentation.wrap("JFXUtilities.supplyInFX", () -> {
+			// skip the task if the future was cancelled or timed out
+			if(!future.isDone()) complete(future, supplier);
+		}));
+		return future;
+	}
+	
+	/**
+	 * same as {@link #supplyInFX(Supplier)}, the future is completed exceptionally with 
+	 * {@link TimeoutException} if the supplier is not executed within the timeout
+	 */
+	public static <T> CompletableFuture<T> supplyInFX(Supplier<T> supplier, long timeout, TimeUnit unit) {
+		final CompletableFuture<T> future = supplyInFX(supplier);
+		if(!future.isDone()){
+			final ScheduledFuture<?> timeoutTask = timeoutExecutor().schedule(()-> future.completeExceptionally(new TimeoutException()), timeout, unit);
+			future.whenComplete((result, e)-> timeoutTask.cancel(false));
+		}
+		return future;
+	}
+	
+	public static CompletableFuture<Void> runInFXAsync(Runnable doRun) {
+		return supplyInFX(() -> {
+			doRun.run();
+			return null;
+		});
+	}
+	
+	public static CompletableFuture<Void> runInFXAsync(Runnable doRun, long timeout, TimeUnit unit) {
+		return supplyInFX(() -> {
+			doRun.run();
+			return null;
+		}, timeout, unit);
+	}
+	
+	private static <T> void complete(CompletableFuture<T> future, Supplier<T> supplier){
+		try{
+			future.complete(supplier.get());
+		}catch(Throwable e){
+			future.completeExceptionally(e);
+		}
+	}
+	
+	// timeouts are scheduled on a single daemon thread, no thread is parked while waiting
+	private static ScheduledThreadPoolExecutor timeoutExecutor;
+	
+	private static synchronized ScheduledThreadPoolExecutor timeoutExecutor(){
+		if(timeoutExecutor == null){
+			timeoutExecutor = new ScheduledThreadPoolExecutor(1, runnable -> {
+				Thread thread = new Thread(runnable, "JFoenix-FX-Timeout");
+				thread.setDaemon(true);
+				return thread;
+			});
+			timeoutExecutor.setRemoveOnCancelPolicy(true);
 		}
+		return timeoutExecutor;
 	}
 }
@@ -0,0 +1,349 @@
+/*
+ * JFoenix
+ * Copyright (c) 2015, JFoenix and/or its affiliates., All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.jfoenix.controls;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import javafx.animation.AnimationTimer;
+import javafx.animation.Interpolator;
+import javafx.css.CssMetaData;
+import javafx.css.SimpleStyleableObjectProperty;
+import javafx.css.Styleable;
+import javafx.css.StyleableObjectProperty;
+import javafx.css.StyleableProperty;
+import javafx.event.EventHandler;
+import javafx.geometry.Bounds;
+import javafx.geometry.Point2D;
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+
+import com.jfoenix.controls.JFXRippler.RipplerMask;
+import com.jfoenix.converters.MaskTypeConverter;
+import com.sun.javafx.css.converters.PaintConverter;
+
+/**
+ * JFXRippleCanvas draws the ripples of many nodes (e.g tree table rows) on a single 
+ * canvas overlay driven by one {@link AnimationTimer}, instead of adding a {@link JFXRippler}
+ * to each node. The canvas must be placed on top of the attached nodes, it's mouse transparent 
+ * so it doesn't intercept their mouse events.
+ * It's styled as a rippler (jfx-rippler style class), so it uses the same -fx-rippler-fill 
+ * and -fx-mask-type as the ripplers of the attached nodes.
+ * Ripples are removed once their node is moved, e.g when the rows are scrolled, as
+ * virtualized cells are reused to show other items.
+ */
+public class JFXRippleCanvas extends Canvas {
+
+	private static final String DEFAULT_STYLE_CLASS = "jfx-rippler";
+	private static final Object ATTACHED_KEY = new Object();
+	private static final double IN_DURATION = 300e6;
+	private static final double OUT_DURATION = 400e6;
+	private static final double OVERLAY_DURATION = 300e6;
+
+	private double defaultRadius = 200;
+	private double minRadius = 100;
+
+	private final List<CanvasRipple> ripples = new ArrayList<>();
+	private final ArrayDeque<CanvasRipple> ripplesPool = new ArrayDeque<>();
+	private final Map<Node, CanvasRipple> pressedRipples = new IdentityHashMap<>();
+	// attached nodes are weakly referenced, so discarded rows are not retained
+	private final Set<Node> attachedNodes = Collections.newSetFromMap(new WeakHashMap<>());
+
+	private Paint ripplePaint;
+	private Paint overlayPaint;
+
+	private final AnimationTimer timer = new AnimationTimer() {
+		@Override
+		public void handle(long now) {
+			render();
+		}
+	};
+	private boolean running = false;
+
+	// shared by all attached nodes
+	private final EventHandler<MouseEvent> pressHandler = (event)-> press((Node) event.getSource(), event.getSceneX(), event.getSceneY());
+	private final EventHandler<MouseEvent> releaseHandler = (event)-> release((Node) event.getSource());
+
+	public JFXRippleCanvas() {
+		super();
+		getStyleClass().add(DEFAULT_STYLE_CLASS);
+		setMouseTransparent(true);
+		updatePaints(ripplerFill.get());
+		ripplerFill.addListener((o,oldVal,newVal)-> updatePaints(newVal));
+	}
+
+	/**
+	 * draw ripples on this canvas when the node is pressed 
+	 */
+	public void attach(Node node){
+		if(node.getProperties().get(ATTACHED_KEY) == this) return;
+		node.getProperties().put(ATTACHED_KEY, this);
+		node.addEventHandler(MouseEvent.MOUSE_PRESSED, pressHandler);
+		node.addEventHandler(MouseEvent.MOUSE_RELEASED, releaseHandler);
+		attachedNodes.add(node);
+	}
+
+	/**
+	 * stop drawing ripples for the node, its current ripple is faded out
+	 */
+	public void detach(Node node){
+		if(node.getProperties().get(ATTACHED_KEY) != this) return;
+		node.getProperties().remove(ATTACHED_KEY);
+		node.removeEventHandler(MouseEvent.MOUSE_PRESSED, pressHandler);
+		node.removeEventHandler(MouseEvent.MOUSE_RELEASED, releaseHandler);
+		attachedNodes.remove(node);
+		release(node);
+	}
+
+	/**
+	 * detach all the attached nodes, e.g when the canvas is discarded
+	 */
+	public void detachAll(){
+		for(Node node : new ArrayList<>(attachedNodes))
+			detach(node);
+	}
+
+	/**
+	 * starts a ripple clipped to the node bounds, the ripple grows until the node is released
+	 */
+	public void press(Node node, double sceneX, double sceneY){
+		if(pressedRipples.containsKey(node)) return;
+		final Bounds bounds = sceneToLocal(node.localToScene(node.getLayoutBounds()));
+		if(bounds == null) return;
+		CanvasRipple ripple = ripplesPool.poll();
+		if(ripple == null) ripple = new CanvasRipple();
+		ripple.node = node;
+		ripple.minX = bounds.getMinX();
+		ripple.minY = bounds.getMinY();
+		ripple.width = bounds.getWidth();
+		ripple.height = bounds.getHeight();
+		final Point2D center = sceneToLocal(sceneX, sceneY);
+		ripple.centerX = center.getX();
+		ripple.centerY = center.getY();
+		ripple.targetRadius = Math.max(minRadius, Math.min(defaultRadius, bounds.getWidth()));
+		ripple.mask = maskType.get();
+		// running ripples keep their paints if the fill is changed
+		ripple.ripplePaint = ripplePaint;
+		ripple.overlayPaint = overlayPaint;
+		ripple.pressTime = System.nanoTime();
+		ripple.releaseTime = -1;
+		ripples.add(ripple);
+		pressedRipples.put(node, ripple);
+		if(!running){
+			running = true;
+			timer.start();
+		}
+	}
+
+	/**
+	 * fades out the ripple of the node
+	 */
+	public void release(Node node){
+		final CanvasRipple ripple = pressedRipples.remove(node);
+		if(ripple == null) return;
+		final long now = System.nanoTime();
+		ripple.releaseRadius = ripple.radius(now);
+		ripple.releaseOverlay = ripple.overlayOpacity(now);
+		ripple.fadeOutRadius = ripple.releaseRadius < ripple.targetRadius * 0.5 ? ripple.targetRadius : ripple.targetRadius + 20;
+		ripple.releaseTime = now;
+	}
+
+	private void render(){
+		final GraphicsContext gc = getGraphicsContext2D();
+		gc.clearRect(0, 0, getWidth(), getHeight());
+		final long now = System.nanoTime();
+		for(int i = ripples.size() - 1; i >= 0; i--){
+			final CanvasRipple ripple = ripples.get(i);
+			if(ripple.isFinished(now) || isMoved(ripple)){
+				ripples.remove(i);
+				pressedRipples.remove(ripple.node, ripple);
+				ripple.node = null;
+				ripplesPool.push(ripple);
+				continue;
+			}
+			final double radius = ripple.radius(now);
+			gc.save();
+			// clip the ripple to the node bounds
+			gc.beginPath();
+			if(ripple.mask == RipplerMask.CIRCLE){
+				final double clipRadius = Math.min(ripple.width, ripple.height) / 2;
+				gc.arc(ripple.minX + ripple.width / 2, ripple.minY + ripple.height / 2, clipRadius, clipRadius, 0, 360);
+			}else{
+				gc.rect(ripple.minX, ripple.minY, ripple.width, ripple.height);
+			}
+			gc.closePath();
+			gc.clip();
+			gc.setGlobalAlpha(ripple.overlayOpacity(now));
+			gc.setFill(ripple.overlayPaint);
+			gc.fillRect(ripple.minX, ripple.minY, ripple.width, ripple.height);
+			gc.setGlobalAlpha(ripple.opacity(now));
+			gc.setFill(ripple.ripplePaint);
+			gc.fillOval(ripple.centerX - radius, ripple.centerY - radius, radius * 2, radius * 2);
+			gc.restore();
+		}
+		// stop the timer once all ripples are faded out
+		if(ripples.isEmpty()){
+			running = false;
+			timer.stop();
+		}
+	}
+
+	/*
+	 * whether the node of the ripple is no longer at the position where it was pressed
+	 */
+	private boolean isMoved(CanvasRipple ripple){
+		final Bounds bounds = sceneToLocal(ripple.node.localToScene(ripple.node.getLayoutBounds()));
+		return bounds == null || bounds.getMinX() != ripple.minX || bounds.getMinY() != ripple.minY;
+	}
+
+	private void updatePaints(Paint fill){
+		if(fill instanceof Color){
+			final Color color = (Color) fill;
+			ripplePaint = new Color(color.getRed(), color.getGreen(), color.getBlue(), 0.3);
+			overlayPaint = new Color(color.getRed(), color.getGreen(), color.getBlue(), 0.2);
+		}else{
+			ripplePaint = fill;
+			overlayPaint = fill;
+		}
+	}
+
+	/**
+	 * @return number of ripples currently drawn 
+	 */
+	public int getActiveRipplesCount(){
+		return ripples.size();
+	}
+
+	private StyleableObjectProperty<Paint> ripplerFill = new SimpleStyleableObjectProperty<Paint>(StyleableProperties.RIPPLER_FILL, JFXRippleCanvas.this, "ripplerFill", Color.rgb(0, 200, 255));
+
+	public final StyleableObjectProperty<Paint> ripplerFillProperty() {
+		return this.ripplerFill;
+	}
+
+	public final Paint getRipplerFill() {
+		return this.ripplerFillProperty().get();
+	}
+
+	public final void setRipplerFill(final Paint ripplerFill) {
+		this.ripplerFillProperty().set(ripplerFill);
+	}
+
+	private StyleableObjectProperty<RipplerMask> maskType = new SimpleStyleableObjectProperty<RipplerMask>(StyleableProperties.MASK_TYPE, JFXRippleCanvas.this, "maskType", RipplerMask.RECT);
+
+	public final StyleableObjectProperty<RipplerMask> maskTypeProperty() {
+		return this.maskType;
+	}
+
+	public final RipplerMask getMaskType() {
+		return this.maskTypeProperty().get();
+	}
+
+	public final void setMaskType(final RipplerMask maskType) {
+		this.maskTypeProperty().set(maskType);
+	}
+
+	private static class StyleableProperties {
+		private static final CssMetaData< JFXRippleCanvas, Paint> RIPPLER_FILL =
+				new CssMetaData< JFXRippleCanvas, Paint>("-fx-rippler-fill",
+						PaintConverter.getInstance(), Color.rgb(0, 200, 255)) {
+			@Override
+			public boolean isSettable(JFXRippleCanvas control) {
+				return control.ripplerFill == null || !control.ripplerFill.isBound();
+			}
+			@Override
+			public StyleableProperty<Paint> getStyleableProperty(JFXRippleCanvas control) {
+				return control.ripplerFillProperty();
+			}
+		};
+		private static final CssMetaData< JFXRippleCanvas, RipplerMask> MASK_TYPE =
+				new CssMetaData< JFXRippleCanvas, RipplerMask>("-fx-mask-type", MaskTypeConverter.getInstance(), RipplerMask.RECT) {
+			@Override
+			public boolean isSettable(JFXRippleCanvas control) {
+				return control.maskType == null || !control.maskType.isBound();
+			}
+			@Override
+			public StyleableProperty<RipplerMask> getStyleableProperty(JFXRippleCanvas control) {
+				return control.maskTypeProperty();
+			}
+		};
+
+		private static final List<CssMetaData<? extends Styleable, ?>> STYLEABLES;
+		static {
+			final List<CssMetaData<? extends Styleable, ?>> styleables =
+					new ArrayList<CssMetaData<? extends Styleable, ?>>(Canvas.getClassCssMetaData());
+			Collections.addAll(styleables,
+					RIPPLER_FILL,
+					MASK_TYPE
+					);
+			STYLEABLES = Collections.unmodifiableList(styleables);
+		}
+	}
+
+	@Override
+	public List<CssMetaData<? extends Styleable, ?>> getCssMetaData() {
+		return getClassCssMetaData();
+	}
+	public static List<CssMetaData<? extends Styleable, ?>> getClassCssMetaData() {
+		return StyleableProperties.STYLEABLES;
+	}
+
+	/*
+	 * ripple state, the ripple is drawn according to the elapsed time
+	 * since it was pressed / released
+	 */
+	private static final class CanvasRipple {
+		Node node;
+		double minX, minY, width, height;
+		double centerX, centerY;
+		double targetRadius;
+		double releaseRadius, fadeOutRadius, releaseOverlay;
+		long pressTime, releaseTime;
+		RipplerMask mask;
+		Paint ripplePaint, overlayPaint;
+
+		double radius(long now){
+			if(releaseTime < 0) return Math.min(1, (now - pressTime) / IN_DURATION) * targetRadius;
+			final double progress = Math.min(1, (now - releaseTime) / OUT_DURATION);
+			return releaseRadius + (fadeOutRadius - releaseRadius) * progress;
+		}
+
+		double opacity(long now){
+			if(releaseTime < 0) return 1;
+			return 1 - Interpolator.EASE_BOTH.interpolate(0.0, 1.0, Math.min(1, (now - releaseTime) / OUT_DURATION));
+		}
+
+		double overlayOpacity(long now){
+			if(releaseTime < 0) return Interpolator.EASE_BOTH.interpolate(0.0, 1.0, Math.min(1, (now - pressTime) / OVERLAY_DURATION));
+			return releaseOverlay * (1 - Interpolator.EASE_BOTH.interpolate(0.0, 1.0, Math.min(1, (now - releaseTime) / OVERLAY_DURATION)));
+		}
+
+		boolean isFinished(long now){
+			return releaseTime >= 0 && now - releaseTime >= OUT_DURATION;
+		}
+	}
+}
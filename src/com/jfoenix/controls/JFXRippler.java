@@ -17,6 +17,7 @@
  */
 package com.jfoenix.controls;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -27,7 +28,9 @@ import javafx.animation.KeyValue;
 import javafx.animation.Timeline;
 import javafx.beans.DefaultProperty;
 import javafx.beans.binding.Bindings;
+import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleDoubleProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.css.CssMetaData;
 import javafx.css.SimpleStyleableObjectProperty;
@@ -117,6 +120,7 @@ public class JFXRippler extends StackPane {
 			rippler = new RippleGenerator();
 			ripplerPane = new StackPane();
 			ripplerPane.getChildren().add(rippler);
+			ripplerPane.borderProperty().addListener((o,oldVal,newVal)-> rippler.maskVersion++);
 
 			// set the control postion and listen if it's changed
 			if(this.position.get() == RipplerPos.BACK) ripplerPane.getChildren().add(this.control);
@@ -127,7 +131,8 @@ public class JFXRippler extends StackPane {
 				else this.getChildren().add(this.control);	
 			});			
 
-			control.boundsInParentProperty().addListener((o,oldVal,newVal)->{
+			// only the size of the control is needed, so translations / animations are ignored
+			control.layoutBoundsProperty().addListener((o,oldVal,newVal)->{
 				rippleRadius = newVal.getWidth();
 				if(rippleRadius > defaultRadius)
 					rippleRadius = defaultRadius;
@@ -165,13 +170,41 @@ public class JFXRippler extends StackPane {
 	 * @return
 	 */
 	protected Node getMask(){
+		Shape mask = maskType.get().equals(JFXRippler.RipplerMask.CIRCLE) ? new CircleMask() : new RectangleMask();
+		updateMask(mask);
+		return mask;
+	}
+
+	/*
+	 * resizes the default masks in place, returns false if 
+	 * the mask can't be reused (custom mask or different mask type)
+	 */
+	private boolean updateMask(Node mask){
 		double borderWidth = ripplerPane.getBorder()!=null? ripplerPane.getBorder().getInsets().getTop() : 0;
-		Shape mask = new Rectangle(control.getLayoutBounds().getWidth() - 0.1 -2*borderWidth ,control.getLayoutBounds().getHeight() - 0.1 - 2*borderWidth); // -0.1 to prevent resizing the anchor pane
-		if(maskType.get().equals(JFXRippler.RipplerMask.CIRCLE)){
+		if(mask instanceof RectangleMask && maskType.get() == RipplerMask.RECT){
+			// -0.1 to prevent resizing the anchor pane
+			((Rectangle) mask).setWidth(control.getLayoutBounds().getWidth() - 0.1 -2*borderWidth);
+			((Rectangle) mask).setHeight(control.getLayoutBounds().getHeight() - 0.1 - 2*borderWidth);
+			return true;
+		}
+		if(mask instanceof CircleMask && maskType.get() == RipplerMask.CIRCLE){
 			double radius = Math.min((control.getLayoutBounds().getWidth()/2) - 0.1 - 2*borderWidth, (control.getLayoutBounds().getHeight()/2) - 0.1 - 2*borderWidth);
-			mask = new Circle(control.getLayoutBounds().getWidth()/2 , control.getLayoutBounds().getHeight()/2, radius, Color.BLUE);
+			((Circle) mask).setCenterX(control.getLayoutBounds().getWidth()/2);
+			((Circle) mask).setCenterY(control.getLayoutBounds().getHeight()/2);
+			((Circle) mask).setRadius(radius);
+			return true;
+		}
+		return false;
+	}
+
+	// default mask shapes, they are resized instead of being recreated
+	private static class RectangleMask extends Rectangle {
+	}
+
+	private static class CircleMask extends Circle {
+		CircleMask() {
+			setFill(Color.BLUE);
 		}
-		return mask;
 	}
 	/**
 	 *  mouse listeners
@@ -250,53 +283,111 @@ public class JFXRippler extends StackPane {
 	 */
 	class RippleGenerator extends Group {
 
+		// max number of idle ripples kept for reuse
+		private static final int POOL_SIZE = 8;
+
 		private double generatorCenterX = 0;
 		private double generatorCenterY = 0;
 		private OverLayRipple overlayRect;
 		private boolean generating = false;
 
+		// finished ripples are hidden and reused by the next clicks
+		private final ArrayDeque<Ripple> ripplesPool = new ArrayDeque<>();
+		private Ripple currentRipple;
+		private boolean releaseHandlerInstalled = false;
+
+		// ripple paints are computed once per fill color
+		private Paint ripplePaint;
+		private Paint overlayPaint;
+		private Paint paintsFill;
+
+		// incremented whenever the masks of the ripples need to be recreated 
+		private int maskVersion = 0;
+
+		RippleGenerator() {
+			control.layoutBoundsProperty().addListener((o,oldVal,newVal)->{
+				if(oldVal.getWidth() != newVal.getWidth() || oldVal.getHeight() != newVal.getHeight()) maskVersion++;
+			});
+			maskType.addListener((o,oldVal,newVal)-> maskVersion++);
+		}
+
 		public void createRipple() {
 			if(enabled){
 				if(!generating){
 					generating = true;
+					updatePaints();
 					// create overlay once then change its color later 
 					if(overlayRect == null){
 						overlayRect = new OverLayRipple();
-						overlayRect.setClip(getMask());
 						getChildren().add(overlayRect);
 					}					
-					overlayRect.setFill(new Color(((Color)ripplerFill.get()).getRed(), ((Color)ripplerFill.get()).getGreen(), ((Color)ripplerFill.get()).getBlue(),0.2));
-
-					// create the ripple effect
-					final Ripple ripple = new Ripple(generatorCenterX, generatorCenterY);				
-					ripple.setClip(getMask());			
-					getChildren().add(ripple);	
+					if(overlayRect.clipVersion != maskVersion){
+						overlayRect.clipVersion = maskVersion;
+						updateClip(overlayRect);
+					}
+					overlayRect.setFill(overlayPaint);
+
+					// reuse a finished ripple if possible
+					Ripple ripple = ripplesPool.poll();
+					if(ripple == null){
+						ripple = new Ripple();
+						getChildren().add(ripple);
+					}
+					ripple.reset(generatorCenterX, generatorCenterY);
+					currentRipple = ripple;
 
 					overlayRect.outAnimation.stop();
 					overlayRect.inAnimation.play();
-					ripple.inAnimation.play();
+					ripple.inAnimation.playFromStart();
 
 					// create fade out transition for the ripple
-					ripplerPane.setOnMouseReleased((e)->{
-						generating = false;
-						if(overlayRect!=null)overlayRect.inAnimation.stop();
-						ripple.inAnimation.pause();
-						double fadeOutRadious = rippleRadius + 20;
-						if(ripple.radiusProperty().get() < rippleRadius*0.5)
-							fadeOutRadious = rippleRadius;
-
-						Timeline outAnimation = new Timeline( new KeyFrame(Duration.seconds(0.4),
-										new KeyValue(ripple.radiusProperty(), fadeOutRadious ,Interpolator.LINEAR),
-										new KeyValue(ripple.opacityProperty(), 0, Interpolator.EASE_BOTH)));
-						
-						outAnimation.setOnFinished((event)-> getChildren().remove(ripple));
-						outAnimation.play();
-						if(overlayRect!=null) overlayRect.outAnimation.play();
-					});
+					if(!releaseHandlerInstalled){
+						releaseHandlerInstalled = true;
+						ripplerPane.setOnMouseReleased((e)-> releaseRipple());
+					}
 				}
 			}
 		}
 
+		private void releaseRipple(){
+			generating = false;
+			if(overlayRect!=null)overlayRect.inAnimation.stop();
+			final Ripple ripple = currentRipple;
+			currentRipple = null;
+			if(ripple != null) ripple.fadeOut();
+			if(overlayRect!=null) overlayRect.outAnimation.play();
+		}
+
+		private void recycle(Ripple ripple){
+			if(ripplesPool.size() < POOL_SIZE){
+				ripple.setVisible(false);
+				ripplesPool.push(ripple);
+			}else{
+				getChildren().remove(ripple);
+			}
+		}
+
+		/*
+		 * the cached mask of the node is resized if possible, otherwise it's recreated
+		 */
+		private void updateClip(Node node){
+			if(node.getClip() == null || !updateMask(node.getClip())) node.setClip(getMask());
+		}
+
+		private void updatePaints(){
+			final Paint fill = ripplerFill.get();
+			if(fill == paintsFill && ripplePaint != null) return;
+			paintsFill = fill;
+			if(fill instanceof Color){
+				final Color color = (Color) fill;
+				ripplePaint = new Color(color.getRed(), color.getGreen(), color.getBlue(), 0.3);
+				overlayPaint = new Color(color.getRed(), color.getGreen(), color.getBlue(), 0.2);
+			}else{
+				ripplePaint = fill;
+				overlayPaint = fill;
+			}
+		}
+
 		public void setGeneratorCenterX(double generatorCenterX) {
 			this.generatorCenterX = generatorCenterX;
 		}
@@ -309,37 +400,74 @@ public class JFXRippler extends StackPane {
 			// better animation while clicking 
 			Timeline inAnimation = new Timeline(new KeyFrame(Duration.seconds(0.3),new KeyValue(opacityProperty(), 1,Interpolator.EASE_BOTH)));
 			Timeline outAnimation = new Timeline(new KeyFrame(Duration.seconds(0.3),new KeyValue(opacityProperty(), 0,Interpolator.EASE_BOTH)));
+			private int clipVersion = -1;
 			// used in toggle button
 //			Timeline animation = new Timeline(new KeyFrame(Duration.ZERO,new KeyValue(opacityProperty(),  0,Interpolator.EASE_BOTH)),
 //					new KeyFrame(Duration.seconds(0.3),new KeyValue(opacityProperty(), 1,Interpolator.EASE_BOTH)));
 			public OverLayRipple() {
 				super(control.getLayoutBounds().getWidth() - 0.1,control.getLayoutBounds().getHeight() - 0.1);
-				this.widthProperty().bind(Bindings.createDoubleBinding(()-> control.getLayoutBounds().getWidth() - 0.1, control.boundsInParentProperty()));
-				this.heightProperty().bind(Bindings.createDoubleBinding(()-> control.getLayoutBounds().getHeight() - 0.1, control.boundsInParentProperty()));
+				this.widthProperty().bind(Bindings.createDoubleBinding(()-> control.getLayoutBounds().getWidth() - 0.1, control.layoutBoundsProperty()));
+				this.heightProperty().bind(Bindings.createDoubleBinding(()-> control.getLayoutBounds().getHeight() - 0.1, control.layoutBoundsProperty()));
 				this.setOpacity(0);
 			}
 		}
 
+		/*
+		 * reusable ripple, animations drive a progress value so they 
+		 * don't need to be recreated when the ripple radius changes
+		 */
 		private class Ripple extends Circle {
 
+			private final DoubleProperty inProgress = new SimpleDoubleProperty(0);
+			private final DoubleProperty outProgress = new SimpleDoubleProperty(0);
+			private double targetRadius;
+			private double fadeOutStartRadius;
+			private double fadeOutRadius;
+			private int clipVersion = -1;
+
 			Timeline inAnimation = new Timeline(
 					new KeyFrame(Duration.ZERO,
-							new KeyValue(radiusProperty(),  0,Interpolator.LINEAR),
+							new KeyValue(inProgress,  0,Interpolator.LINEAR),
 							new KeyValue(opacityProperty(), 1,Interpolator.EASE_BOTH)
 							),new KeyFrame(Duration.seconds(0.3), 
-									new KeyValue(radiusProperty(),  rippleRadius ,Interpolator.LINEAR)					
+									new KeyValue(inProgress,  1 ,Interpolator.LINEAR)					
 									));
 
-			private Ripple(double centerX, double centerY) {
-				super(centerX, centerY, 0, null);	
-				if(ripplerFill.get() instanceof Color){
-					Color circleColor = new Color(((Color)ripplerFill.get()).getRed(), ((Color)ripplerFill.get()).getGreen(), ((Color)ripplerFill.get()).getBlue(),0.3);
-					setStroke(circleColor);
-					setFill(circleColor);
-				}else{
-					setStroke(ripplerFill.get());
-					setFill(ripplerFill.get());
+			Timeline outAnimation = new Timeline(new KeyFrame(Duration.seconds(0.4),
+					new KeyValue(outProgress, 1 ,Interpolator.LINEAR),
+					new KeyValue(opacityProperty(), 0, Interpolator.EASE_BOTH)));
+
+			private Ripple() {
+				super(0, 0, 0, null);
+				inProgress.addListener((o,oldVal,newVal)-> setRadius(newVal.doubleValue() * targetRadius));
+				outProgress.addListener((o,oldVal,newVal)-> setRadius(fadeOutStartRadius + (fadeOutRadius - fadeOutStartRadius) * newVal.doubleValue()));
+				outAnimation.setOnFinished((event)-> recycle(this));
+			}
+
+			private void reset(double centerX, double centerY){
+				outAnimation.stop();
+				setCenterX(centerX);
+				setCenterY(centerY);
+				setRadius(0);
+				setStroke(ripplePaint);
+				setFill(ripplePaint);
+				targetRadius = rippleRadius;
+				// the mask is only recreated if the control was resized or the mask type changed
+				if(clipVersion != maskVersion){
+					clipVersion = maskVersion;
+					updateClip(this);
 				}
+				setVisible(true);
+			}
+
+			private void fadeOut(){
+				inAnimation.pause();
+				fadeOutStartRadius = getRadius();
+				fadeOutRadius = rippleRadius + 20;
+				if(getRadius() < rippleRadius*0.5)
+					fadeOutRadius = rippleRadius;
+				outProgress.set(0);
+				outAnimation.playFromStart();
 			}
 		}
 	}
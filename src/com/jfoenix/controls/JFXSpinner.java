@@ -18,36 +18,80 @@
 
 package com.jfoenix.controls;
 
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import javafx.animation.Interpolator;
 import javafx.animation.KeyFrame;
 import javafx.animation.KeyValue;
 import javafx.animation.Timeline;
+import javafx.animation.Transition;
 import javafx.beans.binding.Bindings;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleObjectProperty;
 import javafx.css.CssMetaData;
 import javafx.css.SimpleStyleableDoubleProperty;
 import javafx.css.Styleable;
 import javafx.css.StyleableDoubleProperty;
+import javafx.geometry.Rectangle2D;
 import javafx.scene.Parent;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
 import javafx.scene.layout.StackPane;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Arc;
+import javafx.scene.transform.Transform;
+import javafx.stage.Window;
 import javafx.util.Duration;
 
+import com.jfoenix.transitions.CachedTransition;
+import com.jfoenix.transitions.JFXAnimationManager;
 import com.sun.javafx.css.converters.SizeConverter;
 
 public class JFXSpinner extends StackPane {
 
 	private static final String DEFAULT_STYLE_CLASS = "jfx-spinner";
 
+	public static enum SpinnerRenderMode {
+		/**
+		 * the spinner arc geometry is animated every frame
+		 */
+		SHAPE,
+		/**
+		 * the spinner cycle is rendered once into images shared by all spinners 
+		 * of the same size and colors, each frame only swaps the displayed image.
+		 * Frames are rendered on the FX thread the first time they are displayed, so the 
+		 * first cycle of a new size or color takes one snapshot per frame, large 
+		 * spinners are rendered at a lower frame rate to limit the memory used
+		 */
+		CACHED_FRAMES
+	}
+
+	private static final double CYCLE_DURATION = 5.6;
+	private static final int FRAMES_PER_SECOND = 30;
+	// frames bigger than this (in bytes) are rendered at half the frame rate
+	private static final long LARGE_FRAME_BYTES = 256 * 1024;
+	private static final long MAX_CACHED_BYTES = 64 * 1024 * 1024;
+	// cached frames by radius, stroke width, color and output scale, the least recently 
+	// used are dropped once the rendered frames exceed MAX_CACHED_BYTES
+	private static final Map<String, SpinnerFrames> framesCache = new LinkedHashMap<>(16, 0.75f, true);
+	private static long cachedBytes = 0;
+	// Window.getOutputScaleX is only available since JavaFX 9
+	private static final Method outputScaleMethod = getOutputScaleMethod();
 	
 	private Color greenColor, redColor, yellowColor, blueColor, initialColor;
 	private Timeline timeline;
 	private Arc arc;
 	private boolean initialized;
+	private boolean strokeInitialized;
+	private ImageView framesView;
+	private FramesTransition framesTransition;
 
 	public JFXSpinner() {
 		super();
@@ -85,45 +129,251 @@ public class JFXSpinner extends StackPane {
 		this.maxHeightProperty().bind(Bindings.createDoubleBinding(()->{
 			return getRadius()*2 + arc.getStrokeWidth() + 5;
 		}, radius,arc.strokeWidthProperty()));
+
+		// the animation is recreated using the new render mode
+		renderMode.addListener((o,oldVal,newVal)->{
+			initialized = false;
+			requestLayout();
+		});
+		// cached frames have a fixed size
+		radius.addListener((o,oldVal,newVal)->{
+			if(getRenderMode() == SpinnerRenderMode.CACHED_FRAMES){
+				initialized = false;
+				requestLayout();
+			}
+		});
 		
 	}
 
-	private KeyFrame[] getKeyFrames(double angle, double duration, Color color) {
+	private KeyFrame[] getKeyFrames(Arc arc, double startingAngle, double angle, double duration, Color color) {
 		KeyFrame[] frames = new KeyFrame[4];
-		frames[0] = new KeyFrame(Duration.seconds(duration), new KeyValue(arc.lengthProperty(), 5, Interpolator.LINEAR), new KeyValue(arc.startAngleProperty(), angle + 45 + getStartingAngle(), Interpolator.LINEAR));
-		frames[1] = new KeyFrame(Duration.seconds(duration + 0.4), new KeyValue(arc.lengthProperty(), 250, Interpolator.LINEAR), new KeyValue(arc.startAngleProperty(), angle + 90 + getStartingAngle(), Interpolator.LINEAR));
-		frames[2] = new KeyFrame(Duration.seconds(duration + 0.7), new KeyValue(arc.lengthProperty(), 250, Interpolator.LINEAR), new KeyValue(arc.startAngleProperty(), angle + 135 + getStartingAngle(), Interpolator.LINEAR));
-		frames[3] = new KeyFrame(Duration.seconds(duration + 1.1), new KeyValue(arc.lengthProperty(), 5, Interpolator.LINEAR), new KeyValue(arc.startAngleProperty(), angle + 435 + getStartingAngle(), Interpolator.LINEAR),
+		frames[0] = new KeyFrame(Duration.seconds(duration), new KeyValue(arc.lengthProperty(), 5, Interpolator.LINEAR), new KeyValue(arc.startAngleProperty(), angle + 45 + startingAngle, Interpolator.LINEAR));
+		frames[1] = new KeyFrame(Duration.seconds(duration + 0.4), new KeyValue(arc.lengthProperty(), 250, Interpolator.LINEAR), new KeyValue(arc.startAngleProperty(), angle + 90 + startingAngle, Interpolator.LINEAR));
+		frames[2] = new KeyFrame(Duration.seconds(duration + 0.7), new KeyValue(arc.lengthProperty(), 250, Interpolator.LINEAR), new KeyValue(arc.startAngleProperty(), angle + 135 + startingAngle, Interpolator.LINEAR));
+		frames[3] = new KeyFrame(Duration.seconds(duration + 1.1), new KeyValue(arc.lengthProperty(), 5, Interpolator.LINEAR), new KeyValue(arc.startAngleProperty(), angle + 435 + startingAngle, Interpolator.LINEAR),
 				new KeyValue(arc.strokeProperty(), color, Interpolator.EASE_BOTH));
 		return frames;
 	}
 
+	private Timeline createTimeline(Arc arc, double startingAngle){
+		KeyFrame[] blueFrame = getKeyFrames(arc, startingAngle, 0, 0, initialColor == null ? blueColor : initialColor);
+		KeyFrame[] redFrame = getKeyFrames(arc, startingAngle, 450, 1.4, initialColor == null ? redColor : initialColor);
+		KeyFrame[] yellowFrame = getKeyFrames(arc, startingAngle, 900, 2.8, initialColor == null ? yellowColor : initialColor);
+		KeyFrame[] greenFrame = getKeyFrames(arc, startingAngle, 1350, 4.2, initialColor == null ? greenColor : initialColor);
+
+		KeyFrame endingFrame = new KeyFrame(Duration.seconds(CYCLE_DURATION), new KeyValue(arc.lengthProperty(), 5, Interpolator.LINEAR), new KeyValue(arc.startAngleProperty(), 1845 + startingAngle, Interpolator.LINEAR));
+
+		return new Timeline(blueFrame[0], blueFrame[1], blueFrame[2], blueFrame[3], redFrame[0], redFrame[1], redFrame[2], redFrame[3], yellowFrame[0], yellowFrame[1], yellowFrame[2], yellowFrame[3],
+				greenFrame[0], greenFrame[1], greenFrame[2], greenFrame[3], endingFrame);
+	}
+
 	protected void layoutChildren() {
 		if (!initialized) {
 			super.layoutChildren();
-			initialColor = (Color) arc.getStroke();
-			if (initialColor == null) {
-				arc.setStroke(blueColor);
+			// the stroke is animated later, so the css color is only read once
+			if(!strokeInitialized){
+				initialColor = (Color) arc.getStroke();
+				if (initialColor == null) {
+					arc.setStroke(blueColor);
+				}
+				strokeInitialized = true;
 			}
 
-			KeyFrame[] blueFrame = getKeyFrames( 0, 0, initialColor == null ? blueColor : initialColor);
-			KeyFrame[] redFrame = getKeyFrames( 450, 1.4, initialColor == null ? redColor : initialColor);
-			KeyFrame[] yellowFrame = getKeyFrames( 900, 2.8, initialColor == null ? yellowColor : initialColor);
-			KeyFrame[] greenFrame = getKeyFrames( 1350, 4.2, initialColor == null ? greenColor : initialColor);
-
-			KeyFrame endingFrame = new KeyFrame(Duration.seconds(5.6), new KeyValue(arc.lengthProperty(), 5, Interpolator.LINEAR), new KeyValue(arc.startAngleProperty(), 1845 + getStartingAngle(), Interpolator.LINEAR));
-
 			if(timeline!=null) timeline.stop();
-			timeline = new Timeline(blueFrame[0], blueFrame[1], blueFrame[2], blueFrame[3], redFrame[0], redFrame[1], redFrame[2], redFrame[3], yellowFrame[0], yellowFrame[1], yellowFrame[2], yellowFrame[3],
-					greenFrame[0], greenFrame[1], greenFrame[2], greenFrame[3], endingFrame);
-			timeline.setCycleCount(Timeline.INDEFINITE);
-			timeline.setRate(1);
-			timeline.play();
+			if(framesTransition!=null) framesTransition.stop();
+
+			if(getRenderMode() == SpinnerRenderMode.CACHED_FRAMES){
+				// the arc is kept for css and sizing but it's not animated
+				arc.setVisible(false);
+				if(framesView == null){
+					framesView = new ImageView();
+					getChildren().add(framesView);
+				}
+				framesView.setVisible(true);
+				// frames are rendered at the output scale, so they are displayed at the spinner size
+				framesView.setFitWidth(getFrameSize());
+				framesView.setFitHeight(getFrameSize());
+				// frames are rendered without the starting angle (arc angles are counterclockwise)
+				framesView.setRotate(-getStartingAngle());
+				framesTransition = new FramesTransition(framesView, getFrames());
+				JFXAnimationManager.playWhileShowing(this, framesTransition);
+			}else{
+				arc.setVisible(true);
+				if(framesView != null) framesView.setVisible(false);
+				timeline = createTimeline(arc, getStartingAngle());
+				timeline.setCycleCount(Timeline.INDEFINITE);
+				timeline.setRate(1);
+				// the spinner is only animated while it's showing
+				JFXAnimationManager.playWhileShowing(this, timeline);
+			}
 
 			initialized = true;
 		}
 	}
 
+	/*
+	 * returns the spinner cycle frames of the current size and color, 
+	 * all spinners with the same look share the same frames
+	 */
+	private SpinnerFrames getFrames(){
+		final double strokeWidth = arc.getStrokeWidth();
+		final double scale = getOutputScale();
+		final String key = getRadius() + ":" + strokeWidth + ":" + initialColor + ":" + scale;
+		SpinnerFrames frames = framesCache.get(key);
+		if(frames == null){
+			Arc frameArc = new Arc(0, 0, getRadius(), getRadius(), 0, 360);
+			frameArc.setFill(Color.TRANSPARENT);
+			frameArc.setStrokeWidth(strokeWidth);
+			frameArc.setStroke(initialColor == null ? blueColor : initialColor);
+			FrameRenderer renderer = new FrameRenderer(frameArc, createTimeline(frameArc, 0));
+
+			// the viewport is specified in the scaled coordinates
+			final double size = getFrameSize() * scale;
+			SnapshotParameters parameters = new SnapshotParameters();
+			parameters.setFill(Color.TRANSPARENT);
+			parameters.setTransform(Transform.scale(scale, scale));
+			parameters.setViewport(new Rectangle2D(-size / 2, -size / 2, size, size));
+
+			final long frameBytes = (long) Math.ceil(size) * (long) Math.ceil(size) * 4;
+			final int framesPerSecond = frameBytes > LARGE_FRAME_BYTES ? FRAMES_PER_SECOND / 2 : FRAMES_PER_SECOND;
+			frames = new SpinnerFrames(frameArc, renderer, parameters, (int) Math.round(CYCLE_DURATION * framesPerSecond), frameBytes);
+			framesCache.put(key, frames);
+		}
+		return frames;
+	}
+
+	/*
+	 * drops the least recently used frames until the cache fits in MAX_CACHED_BYTES,
+	 * the frames being rendered are kept
+	 */
+	private static void trimFramesCache(SpinnerFrames current){
+		final Iterator<SpinnerFrames> iterator = framesCache.values().iterator();
+		while(cachedBytes > MAX_CACHED_BYTES && iterator.hasNext()){
+			final SpinnerFrames frames = iterator.next();
+			if(frames == current) continue;
+			iterator.remove();
+			frames.cached = false;
+			cachedBytes -= frames.bytes;
+		}
+	}
+
+	private double getFrameSize(){
+		return Math.ceil(getRadius() * 2 + arc.getStrokeWidth() + 2);
+	}
+
+	/*
+	 * the render scale of the window showing the spinner, e.g 2 on hidpi screens
+	 */
+	private double getOutputScale(){
+		final Window window = getScene() == null ? null : getScene().getWindow();
+		if(window == null || outputScaleMethod == null) return 1;
+		try {
+			return (double) outputScaleMethod.invoke(window);
+		} catch (ReflectiveOperationException e) {
+			return 1;
+		}
+	}
+
+	private static Method getOutputScaleMethod(){
+		try {
+			return Window.class.getMethod("getOutputScaleX");
+		} catch (NoSuchMethodException e) {
+			return null;
+		}
+	}
+
+	// evaluates the spinner timeline at a given time without playing it
+	private static final class FrameRenderer extends CachedTransition {
+		FrameRenderer(Arc arc, Timeline timeline) {
+			super(arc, timeline);
+		}
+
+		void render(double seconds){
+			interpolate(seconds);
+		}
+	}
+
+	// frames of the spinner cycle, each frame is rendered the first time it's displayed
+	private static final class SpinnerFrames {
+		private final Arc arc;
+		private final FrameRenderer renderer;
+		private final SnapshotParameters parameters;
+		private final Image[] images;
+		private final long frameBytes;
+		// size of the rendered frames, counted by the cache while it holds these frames
+		private long bytes = 0;
+		private boolean cached = true;
+
+		SpinnerFrames(Arc arc, FrameRenderer renderer, SnapshotParameters parameters, int count, long frameBytes) {
+			this.arc = arc;
+			this.renderer = renderer;
+			this.parameters = parameters;
+			this.images = new Image[count];
+			this.frameBytes = frameBytes;
+		}
+
+		int size(){
+			return images.length;
+		}
+
+		Image get(int frame){
+			if(images[frame] == null){
+				renderer.render(frame * CYCLE_DURATION / images.length);
+				images[frame] = arc.snapshot(parameters, null);
+				bytes += frameBytes;
+				if(cached){
+					cachedBytes += frameBytes;
+					trimFramesCache(this);
+				}
+			}
+			return images[frame];
+		}
+	}
+
+	// displays the frame matching the current time of the cycle
+	private static final class FramesTransition extends Transition {
+		private final ImageView view;
+		private final SpinnerFrames frames;
+		private int currentFrame = -1;
+
+		FramesTransition(ImageView view, SpinnerFrames frames) {
+			this.view = view;
+			this.frames = frames;
+			setCycleDuration(Duration.seconds(CYCLE_DURATION));
+			setCycleCount(INDEFINITE);
+			setInterpolator(Interpolator.LINEAR);
+		}
+
+		@Override
+		protected void interpolate(double frac) {
+			final int frame = Math.min(frames.size() - 1, (int) (frac * frames.size()));
+			if(frame != currentFrame){
+				currentFrame = frame;
+				view.setImage(frames.get(frame));
+			}
+		}
+	}
+
+	private ObjectProperty<SpinnerRenderMode> renderMode = new SimpleObjectProperty<>(SpinnerRenderMode.SHAPE);
+
+	/**
+	 * the way the spinner is animated, {@link SpinnerRenderMode#CACHED_FRAMES} avoids
+	 * animating the arc geometry, but the first cycle of each new radius, stroke or 
+	 * color renders its frames on the FX thread (one snapshot per displayed frame),
+	 * so it should not be used with a radius that keeps changing
+	 */
+	public final ObjectProperty<SpinnerRenderMode> renderModeProperty() {
+		return this.renderMode;
+	}
+
+	public final SpinnerRenderMode getRenderMode() {
+		return this.renderModeProperty().get();
+	}
+
+	public final void setRenderMode(final SpinnerRenderMode renderMode) {
+		this.renderModeProperty().set(renderMode);
+	}
+
 	
 	/***************************************************************************
 	 *                                                                         *
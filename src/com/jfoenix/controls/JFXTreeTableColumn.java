@@ -75,7 +75,8 @@ public class JFXTreeTableColumn<S, T> extends TreeTableColumn<S, T> {
 	public final boolean validateValue(CellDataFeatures<S, T> param){
 		Object rowObject = param.getValue().getValue();
 		if((rowObject instanceof RecursiveTreeObject && rowObject.getClass() == RecursiveTreeObject.class)
-		|| (param.getTreeTableView() instanceof JFXTreeTableView && ((JFXTreeTableView<?>)param.getTreeTableView()).getGroupOrder().contains(this)))
+		|| (param.getTreeTableView() instanceof JFXTreeTableView && ((JFXTreeTableView<?>)param.getTreeTableView()).getGroupOrder().contains(this)
+				&& !RecursiveTreeGrouping.isComputingKeys()))
 			return false;
 		return true;
 	}
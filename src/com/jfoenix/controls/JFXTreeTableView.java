@@ -19,20 +19,20 @@
 package com.jfoenix.controls;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.Timer;
-import java.util.TimerTask;
 import java.util.concurrent.Semaphore;
 import java.util.function.Predicate;
 
-import javafx.application.Platform;
+import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.value.ChangeListener;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.scene.control.Skin;
 import javafx.scene.control.TreeItem;
@@ -42,7 +42,9 @@ import javafx.scene.control.TreeTableView;
 import javafx.scene.input.MouseEvent;
 import javafx.util.Callback;
 
+import com.jfoenix.concurrency.JFXCoalescingScheduler;
 import com.jfoenix.concurrency.JFXUtilities;
+import com.jfoenix.instrumentation.JFXInstrumentation;
 import com.jfoenix.controls.datamodels.treetable.RecursiveTreeObject;
 import com.jfoenix.skins.JFXTreeTableViewSkin;
 
@@ -95,10 +97,13 @@ public class JFXTreeTableView<S extends RecursiveTreeObject<S>> extends TreeTabl
 		this.predicate.addListener((o,oldVal,newVal)-> filter(newVal));
 
 		this.rootProperty().addListener((o,oldVal,newVal)->{
+			if(oldVal instanceof RecursiveTreeItem) ((RecursiveTreeItem<S>) oldVal).itemsCountProperty().removeListener(itemsCountListener);
+			if(newVal instanceof RecursiveTreeItem) ((RecursiveTreeItem<S>) newVal).itemsCountProperty().addListener(itemsCountListener);
 			if(newVal != null){
 				setCurrentItemsCount(count(getRoot()));
 			}
 		});
+		if(getRoot() instanceof RecursiveTreeItem) ((RecursiveTreeItem<S>) getRoot()).itemsCountProperty().addListener(itemsCountListener);
 		
 		// compute the current items count
 		setCurrentItemsCount(count(getRoot()));
@@ -133,28 +138,28 @@ public class JFXTreeTableView<S extends RecursiveTreeObject<S>> extends TreeTabl
 	// semaphore is used to force mutual exclusion while group/ungroup operation 
 	private Semaphore groupingSemaphore = new Semaphore(1);
 
+	// groups the data in a single pass, the grouping keys are reused when ungrouping a single column
+	private final RecursiveTreeGrouping<S> grouping = new RecursiveTreeGrouping<>();
+
+	/*
+	 * items added / removed from the original root are inserted / removed
+	 * from their group nodes while the table is grouped, filtering changes 
+	 * are ignored as the data is regrouped after filtering
+	 */
+	private RecursiveTreeItem<S> groupedItemsRoot;
+	private final ListChangeListener<TreeItem<S>> groupedItemsListener = change -> {
+		if(groupOrder.isEmpty() || groupedItemsRoot.isRefiltering()) return;
+		while(change.next()){
+			if(change.wasPermutated() || change.wasUpdated()) continue;
+			if(change.wasRemoved()) grouping.remove(change.getRemoved());
+			if(change.wasAdded()) grouping.add(change.getAddedSubList());
+		}
+	};
+
 	// this method will regroup the treetableview according to columns group order
 	public void group(TreeTableColumn<S, ?>... treeTableColumns){
 		if(groupOrder.size() == 0){
-			if(groupingSemaphore.tryAcquire()){
-				try{
-					if(originalRoot == null) originalRoot = getRoot();
-					
-					// group the data
-					Map<Object, Map<Object, ?>> groups = new HashMap<>();
-					for (TreeTableColumn<S, ?> treeTableColumn : treeTableColumns) 
-						groups = group(treeTableColumn, groups, null, (RecursiveTreeItem<S>) originalRoot);			
-					groupOrder.addAll(treeTableColumns);
-					
-					// update table ui
-					buildGroupedRoot(groups, null, 0);
-
-				}catch(Exception e){
-					e.printStackTrace();
-				}
-
-				groupingSemaphore.release();
-			}
+			regroup(Arrays.asList(treeTableColumns), false);
 		}
 	}
 
@@ -163,13 +168,18 @@ public class JFXTreeTableView<S extends RecursiveTreeObject<S>> extends TreeTabl
 			try {
 				if(groupOrder.size() > 0){
 					groupOrder.clear();
-					JFXUtilities.runInFXAndWait(()->{
+					// the semaphore is released once the root is restored, without blocking the caller
+					JFXUtilities.runInFXAsync(()->{
 						ArrayList<TreeTableColumn<S, ?>> sortOrder = new ArrayList<>();
 						sortOrder.addAll(getSortOrder());
 						setRoot(originalRoot);
 						getSelectionModel().select(0);	
 						getSortOrder().addAll(sortOrder);
+					}).whenComplete((result, e)->{
+						if(e != null) e.printStackTrace();
+						groupingSemaphore.release();
 					});
+					return;
 				}		
 			} catch (Exception e) {
 				e.printStackTrace();
@@ -178,89 +188,90 @@ public class JFXTreeTableView<S extends RecursiveTreeObject<S>> extends TreeTabl
 		}
 	}
 
-	private Map group(TreeTableColumn<S, ?> column, Map parentGroup , Object key, RecursiveTreeItem<S> root){
-		if(parentGroup.isEmpty()){
-			parentGroup = groupByFunction(root.filteredItems, column);
-			return parentGroup;
-		}
-		Object value = parentGroup.get(key);
-		if(value instanceof List){
-			Object newGroup = groupByFunction((List) value, column);
-			parentGroup.put(key, newGroup);
-			return parentGroup;
-		}else if(value instanceof Map){
-			for (Object childKey : ((Map)value).keySet()) 
-				value = group(column,(Map)value,childKey, root);
-			parentGroup.put(key, value);
-			return parentGroup;
-		}else if(key == null){
-			for (Object childKey : parentGroup.keySet()) 
-				parentGroup = group(column, parentGroup,childKey, root);
-			return parentGroup;
+	/**
+	 * remove a single column from the group order, the remaining columns
+	 * are regrouped using the grouping keys of the last grouping
+	 * 
+	 * @param treeTableColumn the column to be ungrouped
+	 */
+	public void unGroup(TreeTableColumn<S, ?> treeTableColumn){
+		if(groupOrder.contains(treeTableColumn)){
+			ArrayList<TreeTableColumn<S, ?>> columns = new ArrayList<>(groupOrder);
+			columns.remove(treeTableColumn);
+			if(columns.isEmpty()) unGroup();
+			else regroup(columns, true);
 		}
-		return parentGroup;
 	}
 
-	/*
-	 * stream implementation is faster regarding the performance 
-	 * however its not compatable when porting to mobile
-	 */
-	//	protected Map groupByFunction(List<TreeItem<S>> items, TreeTableColumn<S, ?> column){
-	//		return items.stream().collect(Collectors.groupingBy(child-> column.getCellData((TreeItem<S>)child)));
-	//	}
-
-	protected Map groupByFunction(List<TreeItem<S>> items, TreeTableColumn<S, ?> column){
-		Map<Object, List<TreeItem<S>>> map = new HashMap<Object, List<TreeItem<S>>>();
-		for (TreeItem<S> child : items) {
-			Object key = column.getCellData(child);
-			if (map.get(key) == null) {
-				map.put(key, new ArrayList<TreeItem<S>>());
+	private void regroup(List<TreeTableColumn<S, ?>> treeTableColumns, boolean reuseKeys){
+		if(groupingSemaphore.tryAcquire()){
+			try{
+				if(originalRoot == null) originalRoot = getRoot();
+				if(groupedItemsRoot != originalRoot){
+					// keep the groups up to date with the items of the original root
+					if(groupedItemsRoot != null) groupedItemsRoot.getFilteredItems().removeListener(groupedItemsListener);
+					groupedItemsRoot = (RecursiveTreeItem<S>) originalRoot;
+					groupedItemsRoot.getFilteredItems().addListener(groupedItemsListener);
+				}
+
+				// group the data
+				final long start = JFXInstrumentation.start();
+				final RecursiveTreeItem<S> groupedRoot = grouping.group(((RecursiveTreeItem<S>) originalRoot).getFilteredItems(), treeTableColumns, isParallelGrouping(), reuseKeys);
+				JFXInstrumentation.stop("JFXTreeTableView.group", start);
+				groupOrder.setAll(treeTableColumns);
+
+				// update table ui
+				JFXUtilities.runInFX(()->{
+					final long publishStart = JFXInstrumentation.start();
+					ArrayList<TreeTableColumn<S, ?>> sortOrder = new ArrayList<>();
+					sortOrder.addAll(getSortOrder());
+					setRoot(groupedRoot);		
+					getSortOrder().addAll(sortOrder);
+					getSelectionModel().select(0);
+					JFXInstrumentation.stop("JFXTreeTableView.group.publish", publishStart);
+				});
+			}catch(Exception e){
+				e.printStackTrace();
 			}
-			map.get(key).add(child);
+			groupingSemaphore.release();
 		}
-		return map;
 	}
 
-	/*
-	 * this method is used to update tree items and set the new root 
-	 * after grouping the data model
+	private BooleanProperty parallelGrouping = new SimpleBooleanProperty(false);
+
+	/**
+	 * if enabled, the grouping keys are computed in parallel so the cell value 
+	 * factories of the grouped columns must be thread safe
 	 */
-	private void buildGroupedRoot(Map groupedItems, RecursiveTreeItem parent , int groupIndex){
-		boolean setRoot = false;
-		if(parent == null){
-			parent = new RecursiveTreeItem<>(new RecursiveTreeObject(), RecursiveTreeObject::getChildren);
-			setRoot = true;
-		}
-		
-		for(Object key : groupedItems.keySet()){
-			RecursiveTreeObject groupItem = new RecursiveTreeObject<>();
-			groupItem.setGroupedValue(key);
-			groupItem.setGroupedColumn(groupOrder.get(groupIndex));
-
-			RecursiveTreeItem node = new RecursiveTreeItem<>(groupItem, RecursiveTreeObject::getChildren);
-			parent.originalItems.add(node);
-			parent.getChildren().add(node);			
-
-			Object children = groupedItems.get(key);
-			if(children instanceof List){
-				node.originalItems.addAll((List)children);
-				node.getChildren().addAll((List)children);
-			}else if(children instanceof Map){
-				buildGroupedRoot((Map)children, node, groupIndex+1);
-			}
-		}
-		
-		// update ui
-		if(setRoot){
-			final RecursiveTreeItem<S> newParent = parent;
-			JFXUtilities.runInFX(()->{
-				ArrayList<TreeTableColumn<S, ?>> sortOrder = new ArrayList<>();
-				sortOrder.addAll(getSortOrder());
-				setRoot(newParent);		
-				getSortOrder().addAll(sortOrder);
-				getSelectionModel().select(0);
-			});
-		}
+	public final BooleanProperty parallelGroupingProperty() {
+		return this.parallelGrouping;
+	}
+
+	public final boolean isParallelGrouping() {
+		return this.parallelGroupingProperty().get();
+	}
+
+	public final void setParallelGrouping(final boolean parallelGrouping) {
+		this.parallelGroupingProperty().set(parallelGrouping);
+	}
+
+	private BooleanProperty canvasRipples = new SimpleBooleanProperty(false);
+
+	/**
+	 * if enabled, the ripples of all rows are drawn on a single canvas overlay 
+	 * instead of adding a {@link JFXRippler} to each row. The canvas is styled 
+	 * as a rippler, i.e using -fx-rippler-fill and -fx-mask-type
+	 */
+	public final BooleanProperty canvasRipplesProperty() {
+		return this.canvasRipples;
+	}
+
+	public final boolean isCanvasRipples() {
+		return this.canvasRipplesProperty().get();
+	}
+
+	public final void setCanvasRipples(final boolean canvasRipples) {
+		this.canvasRipplesProperty().set(canvasRipples);
 	}
 
 
@@ -268,37 +279,46 @@ public class JFXTreeTableView<S extends RecursiveTreeObject<S>> extends TreeTabl
 	 * this method will filter the treetable and it  
 	 */
 
-	private Timer t;
+	// filter / group jobs of this table are coalesced by the shared scheduler
+	private final Object filterJobKey = new Object();
+	private final Object groupJobKey = new Object();
 
 	private final void filter(Predicate<TreeItem<S>> predicate){
 		if(originalRoot == null) originalRoot = getRoot();
-		if(t!=null){
-			t.cancel();
-			t.purge();
-		}
-		t = new Timer();
-		t.schedule(new TimerTask() {
-			@Override
-			public void run() {
-				/*
-				 *  filter the original root and regroup the data
-				 */
-				new Thread(()->{
-					// filter the ungrouped root
-					((RecursiveTreeItem) originalRoot).setPredicate(predicate);
-					// regroup the data
-					if(!groupOrder.isEmpty()){
-						ArrayList<TreeTableColumn<S, ?>> tempGroups = new ArrayList<>(groupOrder);
-						groupOrder.clear();
-						group(tempGroups.toArray(new TreeTableColumn[tempGroups.size()]));	
-					}
-					Platform.runLater(()->{
-						getSelectionModel().select(0);	
-						setCurrentItemsCount(count(getRoot()));
+		final JFXCoalescingScheduler scheduler = JFXCoalescingScheduler.getDefault();
+		// typing a new predicate cancels the pending regrouping
+		scheduler.cancel(groupJobKey);
+		scheduler.schedule(filterJobKey, job ->{
+			/*
+			 *  filter the original root and regroup the data
+			 */
+			final RecursiveTreeFilter<S> filter = new RecursiveTreeFilter<>((RecursiveTreeItem<S>) originalRoot, predicate, job::isCancelled);
+			final long start = JFXInstrumentation.start();
+			if(!filter.compute()) return;
+			JFXInstrumentation.stop("JFXTreeTableView.filter", start);
+			JFXUtilities.runInFXAsync(()->{
+				final long publishStart = JFXInstrumentation.start();
+				final boolean published = filter.publish();
+				JFXInstrumentation.stop("JFXTreeTableView.filter.publish", publishStart);
+				if(!published) return;
+				if(!groupOrder.isEmpty()){
+					scheduler.schedule(groupJobKey, 0, groupJob ->{
+						// regroup the data
+						regroup(new ArrayList<>(groupOrder), false);
+						JFXUtilities.runInFXAsync(()->{
+							getSelectionModel().select(0);	
+							setCurrentItemsCount(count(getRoot()));
+						});
 					});
-				}).start();
-			}
-		},  500);
+				}else{
+					getSelectionModel().select(0);	
+					setCurrentItemsCount(count(getRoot()));
+				}
+			}).exceptionally(e ->{
+				e.printStackTrace();
+				return null;
+			});
+		});
 	}
 
 	private ObjectProperty<Predicate<TreeItem<S>>> predicate = new SimpleObjectProperty<Predicate<TreeItem<S>>>((TreeItem<S> t) -> true);
@@ -329,8 +349,17 @@ public class JFXTreeTableView<S extends RecursiveTreeObject<S>> extends TreeTabl
 		this.currentItemsCountProperty().set(currentItemsCount);
 	}
 
+	// keeps the current items count in sync with the root items count
+	private ChangeListener<Number> itemsCountListener = (o,oldVal,newVal)-> setCurrentItemsCount(count(getRoot()));
+	
 	private int count(TreeItem<?> node){
 		if(node == null ) return 0;
+		// recursive tree items maintain their items count
+		if(node instanceof RecursiveTreeItem){
+			int count = ((RecursiveTreeItem<?>) node).getItemsCount();
+			if(node.getValue() != null && !node.getValue().getClass().equals(RecursiveTreeObject.class)) count++;
+			return count;
+		}
 		
 		int count = 1;
 		if(node.getValue() == null ||  (node.getValue() != null && node.getValue().getClass().equals(RecursiveTreeObject.class))) count = 0;
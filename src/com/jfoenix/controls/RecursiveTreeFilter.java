@@ -0,0 +1,176 @@
+/*
+ * JFoenix
+ * Copyright (c) 2015, JFoenix and/or its affiliates., All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+
+package com.jfoenix.controls;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+
+import javafx.scene.control.TreeItem;
+
+import com.jfoenix.controls.datamodels.treetable.RecursiveTreeObject;
+
+/**
+ * RecursiveTreeFilter evaluates a predicate over a RecursiveTreeItem hierarchy
+ * off the FX thread, the leaves are tested in parallel chunks then the result
+ * is published to the tree items on the FX thread in one pass.
+ * 
+ * The background run only walks the source values through the children factory,
+ * the predicate is tested against detached tree items holding these values, 
+ * so no tree item is created or changed until the result is published.
+ *
+ * @param <T>
+ */
+
+class RecursiveTreeFilter<T extends RecursiveTreeObject<T>> {
+
+	// bounded pool shared by all tree tables, its worker threads are daemon threads
+	static final ForkJoinPool POOL = new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+
+	// number of leaves tested by one fork join task
+	private static final int CHUNK_SIZE = 4096;
+
+	private final RecursiveTreeItem<T> root;
+	private final Predicate<TreeItem<T>> predicate;
+	// stale runs are cancelled cooperatively, the result of a cancelled run is never published
+	private final BooleanSupplier cancelled;
+
+	// flattened source values, leaves are tested in parallel while nodes are resolved bottom up
+	private final List<T> leaves = new ArrayList<>();
+	private final List<T> nodes = new ArrayList<>();
+	private final List<List<T>> nodesChildren = new ArrayList<>();
+	private final Set<T> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+	private boolean[] leavesPassed;
+	// filter result of every visited value
+	private final Map<T, Boolean> results = new IdentityHashMap<>();
+
+	RecursiveTreeFilter(RecursiveTreeItem<T> root, Predicate<TreeItem<T>> predicate, BooleanSupplier cancelled) {
+		this.root = root;
+		this.predicate = predicate;
+		this.cancelled = cancelled;
+	}
+
+	boolean isCancelled(){
+		return cancelled.getAsBoolean();
+	}
+
+	/*
+	 * tests the predicate over the whole tree, called off the FX thread
+	 * returns false if the filter was cancelled
+	 */
+	boolean compute(){
+		if(root.getValue() == null) return !isCancelled();
+		flatten(root.getValue());
+		if(isCancelled()) return false;
+		leavesPassed = new boolean[leaves.size()];
+		POOL.invoke(new LeavesTask(0, leaves.size()));
+		if(isCancelled()) return false;
+		for(int i = 0; i < leaves.size(); i++)
+			results.put(leaves.get(i), leavesPassed[i]);
+		// nodes are stored in post order, so children are resolved before their parents
+		for(int i = 0; i < nodes.size(); i++){
+			if(isCancelled()) return false;
+			final T node = nodes.get(i);
+			boolean passed = false;
+			for(T child : nodesChildren.get(i)){
+				if(results.get(child) == Boolean.TRUE){
+					passed = true;
+					break;
+				}
+			}
+			results.put(node, passed || (!isGroupNode(node) && test(node)));
+		}
+		return !isCancelled();
+	}
+
+	/*
+	 * must be called on the FX thread, applies the computed result
+	 * to the created tree items without testing the predicate again
+	 */
+	boolean publish(){
+		if(isCancelled()) return false;
+		publish(root);
+		return true;
+	}
+
+	private void publish(RecursiveTreeItem<T> item){
+		for(TreeItem<T> child : item.getOriginalItems()){
+			RecursiveTreeItem<T> recursiveChild = (RecursiveTreeItem<T>) child;
+			// lazy items are filtered using the predicate once they are created
+			if(recursiveChild.isMaterialized()) publish(recursiveChild);
+			else recursiveChild.setPredicate(predicate);
+		}
+		item.applyFilter(predicate, results::get);
+	}
+
+	private void flatten(T value){
+		// a value listed several times is only tested once
+		if(!visited.add(value)) return;
+		final List<T> children = new ArrayList<>(root.sourceChildrenOf(value));
+		for(T child : children){
+			if(isCancelled()) return;
+			if(root.sourceChildrenOf(child).isEmpty()){
+				if(visited.add(child)) leaves.add(child);
+			}else{
+				flatten(child);
+			}
+		}
+		nodes.add(value);
+		nodesChildren.add(children);
+	}
+
+	private boolean test(T value){
+		return predicate == null || predicate.test(new TreeItem<>(value));
+	}
+
+	private boolean isGroupNode(T value){
+		return value.getClass() == RecursiveTreeObject.class;
+	}
+
+	private class LeavesTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private final int from, to;
+
+		LeavesTask(int from, int to) {
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if(isCancelled()) return;
+			if(to - from > CHUNK_SIZE){
+				int middle = (from + to) >>> 1;
+				invokeAll(new LeavesTask(from, middle), new LeavesTask(middle, to));
+				return;
+			}
+			for(int i = from; i < to && !isCancelled(); i++){
+				T leaf = leaves.get(i);
+				leavesPassed[i] = !isGroupNode(leaf) && test(leaf);
+			}
+		}
+	}
+}
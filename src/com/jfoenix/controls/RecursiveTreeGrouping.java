@@ -0,0 +1,303 @@
+/*
+ * JFoenix
+ * Copyright (c) 2015, JFoenix and/or its affiliates., All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+
+package com.jfoenix.controls;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.RecursiveAction;
+
+import javafx.collections.ObservableList;
+import javafx.scene.control.TreeItem;
+import javafx.scene.control.TreeTableColumn;
+import javafx.util.Callback;
+
+import com.jfoenix.controls.datamodels.treetable.ColumnarTreeTableModel.ColumnValueFactory;
+import com.jfoenix.controls.datamodels.treetable.ColumnarTreeTableModel.Row;
+import com.jfoenix.controls.datamodels.treetable.RecursiveTreeObject;
+
+/**
+ * RecursiveTreeGrouping groups tree items by multiple columns in a single pass,
+ * each item is assigned to its group using the composite key of all columns 
+ * and the group tree is built directly from the computed groups.
+ * The column keys of the last grouping are kept, so ungrouping one column 
+ * regroups the same items without querying the cell values again. Any other
+ * grouping computes the keys again, as the cell values could have changed.
+ * Once grouped, added / removed items are applied incrementally to the
+ * group nodes, creating or removing group nodes on demand.
+ *
+ * @param <S>
+ */
+
+class RecursiveTreeGrouping<S extends RecursiveTreeObject<S>> {
+
+	// number of items processed by one fork join task
+	private static final int CHUNK_SIZE = 4096;
+
+	// set on the threads computing the grouping keys, so grouped columns return the cell value
+	private static final ThreadLocal<Boolean> computingKeys = ThreadLocal.withInitial(() -> false);
+
+	static boolean isComputingKeys(){
+		return computingKeys.get();
+	}
+
+	// items of the last grouping, the cached keys are aligned with them
+	// and only valid until the items or the groups are changed
+	private List<TreeItem<S>> items = Collections.emptyList();
+	private final Map<TreeTableColumn<S, ?>, Object[]> keysCache = new HashMap<>();
+	private final Callback<RecursiveTreeObject<S>, ObservableList<S>> childrenFactory = RecursiveTreeItem.defaultChildrenFactory();
+
+	// the current group tree, used to maintain the groups incrementally
+	private List<TreeTableColumn<S, ?>> columns;
+	private Group root;
+	private final Map<TreeItem<S>, Group> itemGroups = new IdentityHashMap<>();
+
+	/**
+	 * group the items
+	 * 
+	 * @param items the items to be grouped
+	 * @param columns the grouping columns ordered by level
+	 * @param parallel whether the keys are computed in parallel
+	 * @param reuseKeys whether the keys of the last grouping are reused, only
+	 * valid if the column values have not changed since then
+	 * @return the root of the grouped tree
+	 */
+	@SuppressWarnings("unchecked")
+	synchronized RecursiveTreeItem<S> group(List<TreeItem<S>> items, List<TreeTableColumn<S, ?>> columns, boolean parallel, boolean reuseKeys){
+		if(!reuseKeys || !isSameItems(items)){
+			this.items = new ArrayList<>(items);
+			keysCache.clear();
+		}
+
+		// compute the keys of the new columns
+		final Object[][] keys = new Object[columns.size()][];
+		for(int i = 0 ; i < columns.size(); i++){
+			final TreeTableColumn<S, ?> column = columns.get(i);
+			Object[] columnKeys = keysCache.get(column);
+			if(columnKeys == null){
+				columnKeys = new Object[this.items.size()];
+				if(parallel) RecursiveTreeFilter.POOL.invoke(new KeysTask(column, columnKeys, 0, columnKeys.length));
+				else computeKeys(column, columnKeys, 0, columnKeys.length);
+				keysCache.put(column, columnKeys);
+			}
+			keys[i] = columnKeys;
+		}
+
+		// assign each item to its group, counting the items of each group
+		this.columns = new ArrayList<>(columns);
+		this.root = new Group(null, null);
+		this.itemGroups.clear();
+		for(int i = 0 ; i < this.items.size(); i++){
+			Group group = root;
+			for(int level = 0 ; level < keys.length; level++)
+				group = group.getSubGroup(keys[level][i]);
+			group.count++;
+			itemGroups.put(this.items.get(i), group);
+		}
+		// fill the groups, lists are allocated using the group counts
+		for(TreeItem<S> item : this.items){
+			final Group group = itemGroups.get(item);
+			if(group.items == null) group.items = new ArrayList<>(group.count);
+			group.items.add(item);
+		}
+
+		root.node = new RecursiveTreeItem<S>((S) new RecursiveTreeObject<S>(), buildGroups(root, 0), childrenFactory);
+		return root.node;
+	}
+
+	/**
+	 * insert the added items into their groups, group nodes are
+	 * created if needed and each group node is updated once 
+	 */
+	synchronized void add(List<? extends TreeItem<S>> addedItems){
+		if(root == null) return;
+		keysCache.clear();
+		final Map<Group, List<TreeItem<S>>> addedToGroups = new LinkedHashMap<>();
+		final Map<Group, List<TreeItem<S>>> newGroups = new LinkedHashMap<>();
+		for(TreeItem<S> item : addedItems){
+			Group group = root;
+			for(int level = 0 ; level < columns.size(); level++){
+				final Object key = computeKey(columns.get(level), item);
+				Group subGroup = group.subGroups == null ? null : group.subGroups.get(key);
+				if(subGroup == null){
+					subGroup = group.getSubGroup(key);
+					// only the top most new group is attached to the tree
+					if(group.node != null) newGroups.computeIfAbsent(group, g -> new ArrayList<>());
+				}
+				group = subGroup;
+			}
+			if(group.items == null) group.items = new ArrayList<>();
+			group.items.add(item);
+			group.count++;
+			itemGroups.put(item, group);
+			if(group.node != null) addedToGroups.computeIfAbsent(group, g -> new ArrayList<>()).add(item);
+		}
+		for(Map.Entry<Group, List<TreeItem<S>>> entry : addedToGroups.entrySet())
+			entry.getKey().node.originalItems.addAll(entry.getValue());
+		for(Group parent : newGroups.keySet()){
+			final int level = parent.level();
+			final List<TreeItem<S>> groupNodes = new ArrayList<>();
+			for(Group group : parent.subGroups.values())
+				if(group.node == null) groupNodes.add(buildGroup(group, level));
+			parent.node.originalItems.addAll(groupNodes);
+		}
+	}
+
+	/**
+	 * remove the items from their groups, empty group nodes are removed
+	 */
+	synchronized void remove(List<? extends TreeItem<S>> removedItems){
+		if(root == null) return;
+		keysCache.clear();
+		final Map<Group, Set<TreeItem<S>>> removedFromGroups = new LinkedHashMap<>();
+		for(TreeItem<S> item : removedItems){
+			final Group group = itemGroups.remove(item);
+			if(group != null) removedFromGroups.computeIfAbsent(group, g -> Collections.newSetFromMap(new IdentityHashMap<>())).add(item);
+		}
+		for(Map.Entry<Group, Set<TreeItem<S>>> entry : removedFromGroups.entrySet()){
+			Group group = entry.getKey();
+			group.items.removeAll(entry.getValue());
+			group.count = group.items.size();
+			if(group.count > 0){
+				group.node.originalItems.removeAll(entry.getValue());
+				continue;
+			}
+			// remove the empty group and its empty parents
+			while(group.parent != root && group.parent.subGroups.size() == 1)
+				group = group.parent;
+			group.parent.subGroups.remove(group.key);
+			group.parent.node.originalItems.remove(group.node);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<TreeItem<S>> buildGroups(Group group, int level){
+		if(group.subGroups == null) return group.items == null ? Collections.<TreeItem<S>>emptyList() : group.items;
+		final List<TreeItem<S>> groupNodes = new ArrayList<>(group.subGroups.size());
+		for(Group subGroup : group.subGroups.values())
+			groupNodes.add(buildGroup(subGroup, level));
+		return groupNodes;
+	}
+
+	@SuppressWarnings("unchecked")
+	private RecursiveTreeItem<S> buildGroup(Group group, int level){
+		RecursiveTreeObject<S> groupItem = new RecursiveTreeObject<>();
+		groupItem.setGroupedValue(group.key);
+		groupItem.setGroupedColumn(columns.get(level));
+		group.node = new RecursiveTreeItem<S>((S) groupItem, buildGroups(group, level + 1), childrenFactory);
+		return group.node;
+	}
+
+	private boolean isSameItems(List<TreeItem<S>> newItems){
+		if(newItems.size() != items.size()) return false;
+		for(int i = 0 ; i < items.size(); i++)
+			if(newItems.get(i) != items.get(i)) return false;
+		return true;
+	}
+
+	private void computeKeys(TreeTableColumn<S, ?> column, Object[] columnKeys, int from, int to){
+		computingKeys.set(true);
+		try{
+			for(int i = from ; i < to; i++)
+				columnKeys[i] = getKey(column, items.get(i));
+		}finally{
+			computingKeys.set(false);
+		}
+	}
+
+	private Object computeKey(TreeTableColumn<S, ?> column, TreeItem<S> item){
+		computingKeys.set(true);
+		try{
+			return getKey(column, item);
+		}finally{
+			computingKeys.set(false);
+		}
+	}
+
+	/*
+	 * columnar rows are read directly from their column
+	 */
+	private Object getKey(TreeTableColumn<S, ?> column, TreeItem<S> item){
+		final Object factory = column.getCellValueFactory();
+		if(factory instanceof ColumnValueFactory && item.getValue() instanceof Row)
+			return ((ColumnValueFactory<?, ?>) factory).getColumn().get(((Row) item.getValue()).getIndex());
+		return column.getCellData(item);
+	}
+
+	private class KeysTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private final TreeTableColumn<S, ?> column;
+		private final Object[] columnKeys;
+		private final int from, to;
+
+		KeysTask(TreeTableColumn<S, ?> column, Object[] columnKeys, int from, int to) {
+			this.column = column;
+			this.columnKeys = columnKeys;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if(to - from > CHUNK_SIZE){
+				int middle = (from + to) >>> 1;
+				invokeAll(new KeysTask(column, columnKeys, from, middle), new KeysTask(column, columnKeys, middle, to));
+			}else{
+				computeKeys(column, columnKeys, from, to);
+			}
+		}
+	}
+
+	private class Group {
+		private final Object key;
+		private final Group parent;
+		private Map<Object, Group> subGroups;
+		private List<TreeItem<S>> items;
+		private int count = 0;
+		// the tree item of this group, null until the group is attached to the tree
+		private RecursiveTreeItem<S> node;
+
+		Group(Object key, Group parent) {
+			this.key = key;
+			this.parent = parent;
+		}
+
+		Group getSubGroup(Object key){
+			// groups keep the order of their first item
+			if(subGroups == null) subGroups = new LinkedHashMap<>();
+			Group group = subGroups.get(key);
+			if(group == null){
+				group = new Group(key, this);
+				subGroups.put(key, group);
+			}
+			return group;
+		}
+
+		int level(){
+			int level = 0;
+			for(Group group = parent; group != null; group = group.parent) level++;
+			return level;
+		}
+	}
+}
@@ -18,13 +18,24 @@
 
 package com.jfoenix.controls;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
-import javafx.beans.binding.Bindings;
+import javafx.application.Platform;
 import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.ReadOnlyIntegerWrapper;
 import javafx.beans.property.SimpleObjectProperty;
-import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener;
+import javafx.collections.ModifiableObservableListBase;
 import javafx.collections.ObservableList;
 import javafx.collections.transformation.FilteredList;
 import javafx.scene.Node;
@@ -38,20 +49,77 @@ import com.jfoenix.controls.datamodels.treetable.RecursiveTreeObject;
  * @author sshahine
  * RecursiveTreeItem is used along with RecursiveTreeObject
  * to build the data model for the TreeTableView
+ * 
+ * In lazy mode, the children of a tree item are only created on first expansion
+ * or first access to its children, collapsed items only hold their value.
+ * When using {@link #defaultChildrenFactory()}, objects without children 
+ * (see {@link RecursiveTreeObject#hasChildren()}) are leaves, their children list 
+ * is neither created nor observed, so children added to them later are not shown.
+ * Any other factory is called for every value and its list is always observed.
  *
  * @param <T> 
  */
 
 public class RecursiveTreeItem<T extends RecursiveTreeObject<T>> extends TreeItem<T> {
 	
+	@SuppressWarnings("rawtypes")
+	private static final Predicate ACCEPT_ALL = t -> true;
+	
+	@SuppressWarnings("rawtypes")
+	private static final Callback DEFAULT_CHILDREN_FACTORY = (Callback<RecursiveTreeObject, ObservableList>) RecursiveTreeObject::getChildren;
+	
+	/**
+	 * the children factory returning {@link RecursiveTreeObject#getChildren()}, 
+	 * unlike passing the method reference, it does not create the children list of leaves
+	 * 
+	 * @return the default children factory
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T extends RecursiveTreeObject<T>> Callback<RecursiveTreeObject<T>, ObservableList<T>> defaultChildrenFactory(){
+		return DEFAULT_CHILDREN_FACTORY;
+	}
+	
 	private Callback<RecursiveTreeObject<T>, ObservableList<T>> childrenFactory;
 
-	private ObjectProperty<Predicate<TreeItem<T>>> predicate = new SimpleObjectProperty<Predicate<TreeItem<T>>>((TreeItem<T> t) -> true);
+	@SuppressWarnings("unchecked")
+	private ObjectProperty<Predicate<TreeItem<T>>> predicate = new SimpleObjectProperty<Predicate<TreeItem<T>>>(ACCEPT_ALL);
 
-	ObservableList<TreeItem<T>> originalItems = FXCollections.observableArrayList();
+	// original / filtered items are created once the tree item is materialized
+	TreeItemsList<TreeItem<T>> originalItems;
 	
 	FilteredList<TreeItem<T>> filteredItems ;
 	
+	// latest filtered items snapshot waiting to be applied on the FX thread
+	private AtomicReference<List<TreeItem<T>>> pendingChildren;
+	
+	// identity index of the original items by their values
+	// a value added several times to the source list maps to several tree items
+	private Map<T, List<TreeItem<T>>> itemsIndex;
+	
+	// the source list of the current value and its listener, kept to be detached when the value changes
+	private ObservableList<T> sourceChildren;
+	private ListChangeListener<T> sourceChildrenListener;
+	
+	// lazy tree items create their children tree items on demand
+	private boolean lazy = false;
+	private volatile boolean materialized = false;
+	
+	// number of visible non group items under this tree item, -1 if not computed yet
+	private int itemsCount = -1;
+	private ReadOnlyIntegerWrapper itemsCountWrapper;
+	// the item that created this item from its source children, it differs from 
+	// the parent while the item is placed under a group node
+	private RecursiveTreeItem<T> sourceParent;
+	// whether this item is counted by its source parent, i.e it's one of its children
+	private boolean countedBySource = false;
+	
+	// set while the filtered list is re-evaluated against a new predicate
+	private boolean refiltering = false;
+	// children updates are applied directly until the tree item is constructed
+	private boolean initialized = false;
+	// set while a filter result, computed by RecursiveTreeFilter, is applied
+	private boolean publishing = false;
+	
 	/***************************************************************************
 	 *                                                                         *
 	 * Constructors                                                            *
@@ -67,102 +135,488 @@ public class RecursiveTreeItem<T extends RecursiveTreeObject<T>> extends TreeIte
 	}
 
 	public RecursiveTreeItem(final T value, Node graphic, Callback<RecursiveTreeObject<T>, ObservableList<T>> func) {
+		this(value, graphic, func, false);
+	}
+
+	/**
+	 * @param lazy if true, the children of this item and its descendants are 
+	 * created on first access
+	 */
+	public RecursiveTreeItem(final T value, Node graphic, Callback<RecursiveTreeObject<T>, ObservableList<T>> func, boolean lazy) {
 		super(value, graphic);
 		this.childrenFactory = func;
-		init(value);
+		this.lazy = lazy;
+		if(!lazy) init(value);
 	}
 
 	public RecursiveTreeItem(ObservableList<T> dataList, Callback<RecursiveTreeObject<T>, ObservableList<T>> func) {
+		this(dataList, func, false);
+	}
+
+	/**
+	 * @param lazy if true, the children of the data items are created on first access
+	 */
+	public RecursiveTreeItem(ObservableList<T> dataList, Callback<RecursiveTreeObject<T>, ObservableList<T>> func, boolean lazy) {
 		RecursiveTreeObject<T> root = new RecursiveTreeObject<>();
 		root.getChildren().addAll(dataList);
 		
 		this.childrenFactory = func;
+		this.lazy = lazy;
 		init(root);
 	}
+	
+	/*
+	 * creates a group node holding the specified tree items 
+	 */
+	RecursiveTreeItem(final T value, List<? extends TreeItem<T>> items, Callback<RecursiveTreeObject<T>, ObservableList<T>> func) {
+		super(value);
+		this.childrenFactory = func;
+		init(value, items);
+	}
 
 	private void init(RecursiveTreeObject<T> value){
+		init(value, null);
+	}
+	
+	private synchronized void init(RecursiveTreeObject<T> value, List<? extends TreeItem<T>> items){
+		// originalItems is already set on reentrant calls while materializing
+		if(originalItems != null) return;
+		
+		// the items count is maintained from the visible children
+		itemsCount = 0;
+		super.getChildren().addListener((ListChangeListener<TreeItem<T>>) change -> {
+			int delta = 0;
+			while(change.next()){
+				if(change.wasPermutated() || change.wasUpdated()) continue;
+				for(TreeItem<T> item : change.getRemoved()){
+					delta -= weight(item);
+					setCountedBySource(item, false);
+				}
+				for(TreeItem<T> item : change.getAddedSubList()){
+					delta += weight(item);
+					setCountedBySource(item, true);
+				}
+			}
+			updateItemsCount(delta);
+		});
+		
+		originalItems = new TreeItemsList<>();
+		itemsIndex = new IdentityHashMap<>();
+		originalItems.addListener((ListChangeListener<TreeItem<T>>) change -> {
+			while(change.next()){
+				if(change.wasPermutated() || change.wasUpdated()) continue;
+				for(TreeItem<T> item : change.getRemoved())
+					unindexItem(item);
+				for(TreeItem<T> item : change.getAddedSubList())
+					indexItem(item);
+			}
+		});
+		// the predicate could have been set before materializing the tree item
+		filteredItems = new FilteredList<>(originalItems, predicate.get() == ACCEPT_ALL ? predicate.get() : createFilterPredicate(predicate.get()));
+		pendingChildren = new AtomicReference<>();
+		filteredItems.addListener((ListChangeListener<TreeItem<T>>) change -> {
+			if(initialized && !Platform.isFxApplicationThread()){
+				// changes made by background threads are applied asynchronously,
+				// only the latest snapshot of the filtered items is merged into the children
+				if(pendingChildren.getAndSet(new ArrayList<>(filteredItems)) == null)
+					JFXUtilities.runInFXAsync(()-> updateChildren(pendingChildren.getAndSet(null)));
+			}else if(refiltering || pendingChildren.get() != null){
+				pendingChildren.set(null);
+				updateChildren(filteredItems);
+			}else{
+				applyChange(change);
+			}
+		});
 		
 		if (value != null) {
 			addChildrenListener(value);
 		}
+		if (items != null) {
+			originalItems.addAll(items);
+		}
 		valueProperty().addListener((o, oldValue, newValue) -> {
 			if (newValue != null) {
 				addChildrenListener(newValue);
 			}
 		});
 		
-		this.filteredItems.predicateProperty().bind(Bindings.createObjectBinding(() -> {			
-	        return child -> {
-	            // Set the predicate of child items to force filtering
-	            if (child instanceof RecursiveTreeItem) {
-	            	if(!((RecursiveTreeItem)child).originalItems.isEmpty()){
-	            		RecursiveTreeItem<T> filterableChild = (RecursiveTreeItem<T>) child;
-	            		filterableChild.setPredicate(this.predicate.get());
-	            	}
-	            }
-	            // If there is no predicate, keep this tree item
-	            if (this.predicate.get() == null)
-	                return true;
-	            // If there are children, keep this tree item
-	            if (child.getChildren().size() > 0)
-	                return true;
-	            // If its a group node keep this item if it has children
-	            if (child.getValue() instanceof RecursiveTreeObject && child.getValue().getClass() == RecursiveTreeObject.class){
-	            	if(child.getChildren().size() == 0)
-	            		return false;
-	            	return true;
-	            }
-	            // Otherwise ask the TreeItemPredicate
-	            return this.predicate.get().test(child);
-	        };
-	    }, this.predicate));
-		
+		this.predicate.addListener((o,oldVal,newVal)->{
+			if(publishing) return;
+			refiltering = true;
+			try{
+				this.filteredItems.setPredicate(createFilterPredicate(newVal));
+			}finally{
+				refiltering = false;
+			}
+		});
 		
-		this.filteredItems.predicateProperty().addListener((o,oldVal,newVal)->{
-			JFXUtilities.runInFXAndWait(()->{
-				getChildren().clear();
-				getChildren().addAll(filteredItems);
+		initialized = true;
+		materialized = true;
+	}
+	
+	/*
+	 * creates the children of a lazy tree item
+	 */
+	private void materialize(){
+		if(materialized) return;
+		final int delta;
+		synchronized (this) {
+			if(originalItems != null) return;
+			// the parent may have counted the source items of this item
+			final int previousCount = itemsCount;
+			init(getValue());
+			delta = previousCount < 0 ? 0 : itemsCount - previousCount;
+		}
+		if(delta != 0) JFXUtilities.runInFX(()-> updateParentItemsCount(delta));
+	}
+	
+	@Override
+	public ObservableList<TreeItem<T>> getChildren() {
+		materialize();
+		return super.getChildren();
+	}
+	
+	@Override
+	public boolean isLeaf() {
+		if(materialized) return super.isLeaf();
+		// collapsed lazy items only check their source children
+		return !hasOriginalItems();
+	}
+	
+	boolean isMaterialized(){
+		return materialized;
+	}
+	
+	/*
+	 * whether this item has children before filtering,
+	 * it does not materialize lazy tree items
+	 */
+	boolean hasOriginalItems(){
+		if(materialized) return !originalItems.isEmpty();
+		return getValue() != null && !sourceChildrenOf(getValue()).isEmpty();
+	}
+	
+	/*
+	 * the source children of the specified value, it doesn't create any tree item
+	 */
+	List<T> sourceChildrenOf(T value){
+		if(isDefaultLeaf(value)) return Collections.emptyList();
+		return childrenFactory.call(value);
+	}
+	
+	/*
+	 * the default factory skips the children list of leaves
+	 */
+	private boolean isDefaultLeaf(RecursiveTreeObject<T> value){
+		return childrenFactory == DEFAULT_CHILDREN_FACTORY && !value.hasChildren();
+	}
+	
+
+	TreeItemsList<TreeItem<T>> getOriginalItems(){
+		materialize();
+		return originalItems;
+	}
+	
+	FilteredList<TreeItem<T>> getFilteredItems(){
+		materialize();
+		return filteredItems;
+	}
+	
+	/**
+	 * the number of visible items under this tree item, group items are not counted.
+	 * the count is updated incrementally when items are added, removed or filtered
+	 * 
+	 * @return the items count property
+	 */
+	public final ReadOnlyIntegerProperty itemsCountProperty() {
+		if(itemsCountWrapper == null) itemsCountWrapper = new ReadOnlyIntegerWrapper(this, "itemsCount", getItemsCount());
+		return itemsCountWrapper.getReadOnlyProperty();
+	}
+	
+	public final int getItemsCount() {
+		// lazy items are counted using their source items without creating them
+		if(itemsCount < 0) itemsCount = countSourceItems(getValue());
+		return itemsCount;
+	}
+	
+	private void updateItemsCount(int delta){
+		if(delta == 0) return;
+		itemsCount += delta;
+		if(itemsCountWrapper != null) itemsCountWrapper.set(itemsCount);
+		// the parent is updated once the item is materialized
+		if(materialized) updateParentItemsCount(delta);
+	}
+	
+	/*
+	 * grouping places the items under group nodes, so the source parent is 
+	 * updated as well to keep the count of the original root up to date
+	 */
+	private void updateParentItemsCount(int delta){
+		if(countedBySource) sourceParent.updateItemsCount(delta);
+		if(getParent() != sourceParent && getParent() instanceof RecursiveTreeItem)
+			((RecursiveTreeItem<T>) getParent()).updateItemsCount(delta);
+	}
+	
+	private void setCountedBySource(TreeItem<T> item, boolean counted){
+		if(item instanceof RecursiveTreeItem && ((RecursiveTreeItem<T>) item).sourceParent == this)
+			((RecursiveTreeItem<T>) item).countedBySource = counted;
+	}
+	
+	private int weight(TreeItem<T> item){
+		int weight = isGroupItem(item) ? 0 : 1;
+		if(item instanceof RecursiveTreeItem) weight += ((RecursiveTreeItem<T>) item).getItemsCount();
+		return weight;
+	}
+	
+	private static boolean isGroupItem(TreeItem<?> item){
+		return item.getValue() == null || item.getValue().getClass() == RecursiveTreeObject.class;
+	}
+	
+	private int countSourceItems(T value){
+		if(value == null) return 0;
+		int count = 0;
+		for(T child : sourceChildrenOf(value))
+			count += (child.getClass() == RecursiveTreeObject.class ? 0 : 1) + countSourceItems(child);
+		return count;
+	}
+	
+	/*
+	 * whether the filtered items are being re-evaluated against a new predicate
+	 */
+	boolean isRefiltering(){
+		return refiltering;
+	}
+	
+	private Predicate<TreeItem<T>> createFilterPredicate(Predicate<TreeItem<T>> predicate){
+		return child -> {
+			// Set the predicate of child items to force filtering, 
+			// sub trees that were already filtered using the same predicate are not tested again
+			boolean hasChildren = true;
+			if (child instanceof RecursiveTreeItem) {
+				if(((RecursiveTreeItem<T>)child).hasOriginalItems()){
+					RecursiveTreeItem<T> filterableChild = (RecursiveTreeItem<T>) child;
+					filterableChild.setPredicate(predicate);
+				}else{
+					// avoid materializing lazy leaves
+					hasChildren = false;
+				}
+			}
+			// If there is no predicate, keep this tree item
+			if (predicate == null)
+				return true;
+			// If there are children, keep this tree item
+			if (hasChildren && visibleChildrenCount(child) > 0)
+				return true;
+			// If its a group node keep this item if it has children
+			if (child.getValue() instanceof RecursiveTreeObject && child.getValue().getClass() == RecursiveTreeObject.class){
+				return false;
+			}
+			// Otherwise ask the TreeItemPredicate
+			return predicate.test(child);
+		};
+	}
+	
+	/*
+	 * applies the result computed by a RecursiveTreeFilter run, children
+	 * whose values were tested by that run are not tested again while newly 
+	 * added children are tested using the predicate
+	 */
+	void applyFilter(Predicate<TreeItem<T>> predicate, Function<T, Boolean> results){
+		publishing = true;
+		try{
+			setPredicate(predicate);
+		}finally{
+			publishing = false;
+		}
+		final Predicate<TreeItem<T>> filterPredicate = createFilterPredicate(predicate);
+		refiltering = true;
+		try{
+			this.filteredItems.setPredicate(child -> {
+				final Boolean passed = results.apply(child.getValue());
+				return passed != null ? passed : filterPredicate.test(child);
 			});
-		});
+		}finally{
+			refiltering = false;
+		}
 	}
 	
+
+	/*
+	 * replays the changes of the filtered items on the tree item children,
+	 * as both lists hold the same items in the same order
+	 */
+	private void applyChange(ListChangeListener.Change<? extends TreeItem<T>> change){
+		final ObservableList<TreeItem<T>> children = getChildren();
+		while(change.next()){
+			if(change.wasPermutated()){
+				updateChildren(filteredItems);
+				return;
+			}
+			if(change.wasUpdated()) continue;
+			if(change.wasReplaced() && sameItems(change.getRemoved(), change.getAddedSubList())) continue;
+			if(change.wasRemoved())
+				children.remove(change.getFrom(), change.getFrom() + change.getRemovedSize());
+			if(change.wasAdded())
+				children.addAll(change.getFrom(), new ArrayList<>(change.getAddedSubList()));
+		}
+	}
 	
-	private void addChildrenListener(RecursiveTreeObject<T> value) {
-		final ObservableList<T> children = childrenFactory.call(value);
-		originalItems = FXCollections.observableArrayList();
-		for(T child : children)
-			originalItems.add(new RecursiveTreeItem<>(child, getGraphic(), childrenFactory));
+	/*
+	 * filtered items are updated synchronously, while the children 
+	 * could be updated later on the FX thread
+	 */
+	private static int visibleChildrenCount(TreeItem<?> item){
+		if(item instanceof RecursiveTreeItem) return ((RecursiveTreeItem<?>) item).getFilteredItems().size();
+		return item.getChildren().size();
+	}
+	
+	private boolean sameItems(List<? extends TreeItem<T>> removed, List<? extends TreeItem<T>> added){
+		if(removed.size() != added.size()) return false;
+		for(int i = 0 ; i < removed.size(); i++)
+			if(removed.get(i) != added.get(i)) return false;
+		return true;
+	}
+	
+	/*
+	 * merges the filtered items into the tree item children, 
+	 * both lists keep the order of the original items so the difference  
+	 * is applied as contiguous remove/add ranges instead of rebuilding
+	 * the children, hence the expansion and selection state is preserved
+	 */
+	private void updateChildren(List<TreeItem<T>> filteredItems){
+		if(filteredItems == null) return;
+		final ObservableList<TreeItem<T>> children = getChildren();
+		final Set<TreeItem<T>> visibleItems = Collections.newSetFromMap(new IdentityHashMap<>());
+		visibleItems.addAll(filteredItems);
 		
-		filteredItems = new FilteredList<>(originalItems, (TreeItem<T> t) -> true);
+		int i = 0, j = 0;
+		while(j < filteredItems.size()){
+			if(i < children.size() && children.get(i) == filteredItems.get(j)){
+				i++; j++;
+			}else if(i < children.size() && !visibleItems.contains(children.get(i))){
+				// remove the range of items that got filtered out
+				int end = i + 1;
+				while(end < children.size() && !visibleItems.contains(children.get(end))) end++;
+				children.remove(i, end);
+			}else{
+				// add the range of items that passed the filter
+				final TreeItem<T> next = i < children.size() ? children.get(i) : null;
+				int end = j + 1;
+				while(end < filteredItems.size() && filteredItems.get(end) != next) end++;
+				children.addAll(i, new ArrayList<>(filteredItems.subList(j, end)));
+				i += end - j;
+				j = end;
+			}
+		}
+		if(i < children.size()) children.remove(i, children.size());
+	}
+	
+	/**
+	 * re-test the tree item of the specified value against the current predicate,
+	 * only the changed item is tested again, the result is then propagated to the
+	 * parent items if the visibility of this item has changed.
+	 * It's called automatically for update changes of the source list, 
+	 * i.e when the children list is created with an extractor.
+	 * 
+	 * @param value the child value that has been changed
+	 */
+	public void refilter(T value){
+		// children of lazy items are filtered once they are created
+		if(!materialized) return;
+		final List<TreeItem<T>> items = itemsIndex.get(value);
+		if(items == null) return;
+		final boolean wasEmpty = filteredItems.isEmpty();
+		// replacing the item forces the filtered list to test it again
+		for(TreeItem<T> item : new ArrayList<>(items))
+			originalItems.set(originalItems.identityIndexOf(item), item);
+		if(wasEmpty != filteredItems.isEmpty() && getParent() instanceof RecursiveTreeItem)
+			((RecursiveTreeItem<T>) getParent()).refilter(getValue());
+	}
+	
+	private void indexItem(TreeItem<T> item){
+		final List<TreeItem<T>> items = itemsIndex.get(item.getValue());
+		if(items == null){
+			itemsIndex.put(item.getValue(), Collections.singletonList(item));
+		}else{
+			// duplicated values are rare, so single items don't allocate a list
+			final List<TreeItem<T>> duplicates = new ArrayList<>(items);
+			duplicates.add(item);
+			itemsIndex.put(item.getValue(), duplicates);
+		}
+	}
+	
+	private void unindexItem(TreeItem<T> item){
+		final List<TreeItem<T>> items = itemsIndex.get(item.getValue());
+		if(items == null || !items.contains(item)) return;
+		if(items.size() == 1){
+			itemsIndex.remove(item.getValue());
+		}else{
+			final List<TreeItem<T>> remaining = new ArrayList<>(items);
+			remaining.remove(item);
+			itemsIndex.put(item.getValue(), remaining);
+		}
+	}
+	
+	private void addChildrenListener(RecursiveTreeObject<T> value) {
+		if(sourceChildren != null) sourceChildren.removeListener(sourceChildrenListener);
+		if(isDefaultLeaf(value)){
+			sourceChildren = null;
+			originalItems.clear();
+			return;
+		}
+		if(sourceChildrenListener == null) sourceChildrenListener = this::sourceChildrenChanged;
+		sourceChildren = childrenFactory.call(value);
 		
-		this.getChildren().addAll(originalItems);
+		List<TreeItem<T>> items = new ArrayList<>(sourceChildren.size());
+		for(T child : sourceChildren)
+			items.add(createChild(child));
+		originalItems.setAll(items);
 		
-		children.addListener((ListChangeListener<T>) change -> {
+		sourceChildren.addListener(sourceChildrenListener);
+	}
+	
+	/*
+	 * the original items mirror the source list, so its changes are applied 
+	 * by index as range operations. All the sub changes are fired as a single 
+	 * change of the original items, while updated values (fired by source lists 
+	 * created with an extractor) are re-tested against the current predicate
+	 */
+	private void sourceChildrenChanged(ListChangeListener.Change<? extends T> change){
+		final List<T> updatedValues = new ArrayList<>();
+		originalItems.batch(()->{
 			while (change.next()) {
-				if (change.wasAdded()) {
-					change.getAddedSubList().forEach(t -> {
-						RecursiveTreeItem<T> newItem = new RecursiveTreeItem<>(t, getGraphic(), childrenFactory);
-						RecursiveTreeItem.this.getChildren().add(newItem);
-						originalItems.add(newItem);
-					});
+				final int from = change.getFrom();
+				if (change.wasPermutated()) {
+					final List<TreeItem<T>> permutedItems = new ArrayList<>(originalItems.subList(from, change.getTo()));
+					for(int i = from ; i < change.getTo(); i++)
+						permutedItems.set(change.getPermutation(i) - from, originalItems.get(i));
+					for(int i = 0 ; i < permutedItems.size(); i++)
+						originalItems.set(from + i, permutedItems.get(i));
+					continue;
+				}
+				if (change.wasUpdated()) {
+					updatedValues.addAll(change.getList().subList(from, change.getTo()));
+					continue;
 				}
 				if (change.wasRemoved()) {
-					change.getRemoved().forEach(t -> {
-						for(int i = 0 ; i < RecursiveTreeItem.this.getChildren().size(); i++){
-							if(this.getChildren().get(i).getValue().equals(t)){
-								this.getChildren().remove(i);
-								originalItems.remove(i);
-								i--;
-							}							
-						}
-//						final List<TreeItem<T>> itemsToRemove = RecursiveTreeItem.this.getChildren().stream()
-//								.filter(treeItem -> treeItem.getValue().equals(t)).collect(Collectors.toList());
-//						RecursiveTreeItem.this.getChildren().removeAll(itemsToRemove);
-					});
+					originalItems.remove(from, from + change.getRemovedSize());
+				}
+				if (change.wasAdded()) {
+					final List<TreeItem<T>> addedItems = new ArrayList<>(change.getAddedSize());
+					for(T t : change.getAddedSubList())
+						addedItems.add(createChild(t));
+					originalItems.addAll(from, addedItems);
 				}
 			}
 		});
-		
+		for(T value : updatedValues)
+			refilter(value);
+	}
+	
+	private RecursiveTreeItem<T> createChild(T value){
+		final RecursiveTreeItem<T> child = new RecursiveTreeItem<>(value, getGraphic(), childrenFactory, lazy);
+		child.sourceParent = this;
+		return child;
 	}
 
 	public final ObjectProperty<Predicate<TreeItem<T>>> predicateProperty() {
@@ -179,4 +633,116 @@ public class RecursiveTreeItem<T extends RecursiveTreeObject<T>> extends TreeIte
 
 
 
-}
\ No newline at end of file
+	/*
+	 * observable list of tree items, range operations are applied in one step
+	 * and multiple operations can be batched into a single change
+	 */
+	static class TreeItemsList<E> extends ModifiableObservableListBase<E> {
+		private final ArrayList<E> items = new ArrayList<>();
+		// identity positions of the items, created on the first lookup. 
+		// positions are only valid below validPositions, as adding / removing 
+		// items shifts the following items, they are updated on the next lookup
+		private IdentityHashMap<E, Integer> positions;
+		private int validPositions = 0;
+
+		/*
+		 * the position of the specified item compared by identity, 
+		 * -1 if it's not in the list
+		 */
+		int identityIndexOf(E item){
+			if(positions == null) positions = new IdentityHashMap<>(items.size());
+			Integer index = positions.get(item);
+			if(index == null || index >= validPositions){
+				for(int i = validPositions ; i < items.size(); i++)
+					positions.put(items.get(i), i);
+				validPositions = items.size();
+				index = positions.get(item);
+			}
+			return index == null ? -1 : index;
+		}
+
+		private void itemsAdded(int index){
+			if(positions != null && index < validPositions) validPositions = index;
+		}
+
+		private void itemsRemoved(int index, List<E> removed){
+			if(positions == null) return;
+			for(E item : removed) positions.remove(item);
+			if(index < validPositions) validPositions = index;
+		}
+
+		void batch(Runnable operations){
+			beginChange();
+			try{
+				operations.run();
+			}finally{
+				endChange();
+			}
+		}
+
+		@Override
+		public boolean addAll(int index, Collection<? extends E> c) {
+			if(c.isEmpty()) return false;
+			beginChange();
+			try{
+				items.addAll(index, c);
+				itemsAdded(index);
+				nextAdd(index, index + c.size());
+				modCount++;
+			}finally{
+				endChange();
+			}
+			return true;
+		}
+
+		@Override
+		protected void removeRange(int fromIndex, int toIndex) {
+			if(fromIndex == toIndex) return;
+			beginChange();
+			try{
+				final List<E> range = items.subList(fromIndex, toIndex);
+				final List<E> removed = new ArrayList<>(range);
+				nextRemove(fromIndex, removed);
+				range.clear();
+				itemsRemoved(fromIndex, removed);
+				modCount++;
+			}finally{
+				endChange();
+			}
+		}
+
+		@Override
+		public E get(int index) {
+			return items.get(index);
+		}
+
+		@Override
+		public int size() {
+			return items.size();
+		}
+
+		@Override
+		protected void doAdd(int index, E element) {
+			items.add(index, element);
+			itemsAdded(index);
+		}
+
+		@Override
+		protected E doSet(int index, E element) {
+			final E previous = items.set(index, element);
+			if(positions != null && previous != element){
+				positions.remove(previous, index);
+				if(index < validPositions) positions.put(element, index);
+			}
+			return previous;
+		}
+
+		@Override
+		protected E doRemove(int index) {
+			final E removed = items.remove(index);
+			itemsRemoved(index, Collections.singletonList(removed));
+			return removed;
+		}
+	}
+
+}
@@ -0,0 +1,393 @@
+/*
+ * JFoenix
+ * Copyright (c) 2015, JFoenix and/or its affiliates., All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+
+
+package com.jfoenix.controls.datamodels.treetable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javafx.beans.value.ObservableValue;
+import javafx.beans.value.ObservableValueBase;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.scene.control.TreeTableColumn;
+import javafx.scene.control.TreeTableColumn.CellDataFeatures;
+import javafx.util.Callback;
+
+import com.jfoenix.controls.JFXTreeTableColumn;
+
+/**
+ * ColumnarTreeTableModel stores the rows of a tree table as primitive arrays
+ * per column, rows are exposed to the tree table as lightweight {@link Row} views 
+ * that only hold their index in the model.
+ * 
+ * leaf rows does not allocate observable lists or properties, cell values 
+ * are read directly from the column arrays using {@link Column#cellValueFactory()}.
+ * it should be used with lazy {@link com.jfoenix.controls.RecursiveTreeItem} 
+ * to avoid creating tree items for the children of each row.
+ * 
+ * NOTE: the model is not observable, changing a value of an existing row 
+ * is not reflected in the table until the cells are updated.
+ */
+
+public class ColumnarTreeTableModel {
+
+	private static final int DEFAULT_CAPACITY = 16;
+	
+	private final List<Column<?>> columns = new ArrayList<>();
+	private final ObservableList<Row> rows = FXCollections.observableArrayList();
+	private int size = 0;
+	private int capacity;
+	
+	public ColumnarTreeTableModel() {
+		this(DEFAULT_CAPACITY);
+	}
+	
+	/**
+	 * @param capacity the initial number of rows allocated for each column
+	 */
+	public ColumnarTreeTableModel(int capacity) {
+		this.capacity = Math.max(1, capacity);
+	}
+	
+	public IntColumn addIntColumn(String name){
+		return addColumn(new IntColumn(name));
+	}
+	
+	public LongColumn addLongColumn(String name){
+		return addColumn(new LongColumn(name));
+	}
+	
+	public DoubleColumn addDoubleColumn(String name){
+		return addColumn(new DoubleColumn(name));
+	}
+	
+	public <V> ObjectColumn<V> addObjectColumn(String name){
+		return addColumn(new ObjectColumn<V>(name));
+	}
+	
+	private <C extends Column<?>> C addColumn(C column){
+		column.resize(capacity);
+		columns.add(column);
+		return column;
+	}
+	
+	public final List<Column<?>> getColumns(){
+		return columns;
+	}
+	
+	/**
+	 * adds a new row with default values, its values can be set 
+	 * through the model columns using the returned index 
+	 * 
+	 * @return the index of the new row
+	 */
+	public int addRow(){
+		return addRows(1);
+	}
+	
+	/**
+	 * adds the specified number of rows in one change
+	 * 
+	 * @return the index of the first added row
+	 */
+	public int addRows(int count){
+		final int first = size;
+		ensureCapacity(size + count);
+		final Row[] addedRows = new Row[count];
+		for(int i = 0 ; i < count; i++)
+			addedRows[i] = new Row(this, first + i);
+		size += count;
+		rows.addAll(addedRows);
+		return first;
+	}
+	
+	/**
+	 * removes all rows, columns arrays are kept to be reused
+	 */
+	public void clear(){
+		size = 0;
+		for(Column<?> column : columns)
+			column.clear();
+		rows.clear();
+	}
+	
+	public int size(){
+		return size;
+	}
+	
+	/**
+	 * @return the row views of the model, can be used as data list of 
+	 * {@link com.jfoenix.controls.RecursiveTreeItem}
+	 */
+	public final ObservableList<Row> getRows(){
+		return rows;
+	}
+	
+	private void ensureCapacity(int minCapacity){
+		if(minCapacity <= capacity) return;
+		int newCapacity = Math.max(minCapacity, capacity + (capacity >> 1));
+		for(Column<?> column : columns)
+			column.resize(newCapacity);
+		capacity = newCapacity;
+	}
+	
+	/*
+	 * row view, its values are stored in the model columns
+	 */
+	public static final class Row extends RecursiveTreeObject<Row> {
+		private final ColumnarTreeTableModel model;
+		private final int index;
+		
+		Row(ColumnarTreeTableModel model, int index) {
+			super(true);
+			this.model = model;
+			this.index = index;
+		}
+		
+		public ColumnarTreeTableModel getModel(){
+			return model;
+		}
+		
+		public int getIndex(){
+			return index;
+		}
+		
+		public <V> V get(Column<V> column){
+			return column.get(index);
+		}
+	}
+	
+	/*
+	 * column base class, each column stores its values in a single array
+	 */
+	public static abstract class Column<T> {
+		private final String name;
+		
+		Column(String name) {
+			this.name = name;
+		}
+		
+		public final String getName(){
+			return name;
+		}
+		
+		public abstract T get(int row);
+		
+		public abstract void set(int row, T value);
+		
+		abstract void resize(int capacity);
+		
+		void clear(){}
+		
+		/**
+		 * @return cell value factory reading the values of this column directly,
+		 * group rows of {@link JFXTreeTableColumn} are handled as well
+		 */
+		public <S> ColumnValueFactory<S, T> cellValueFactory(){
+			return new ColumnValueFactory<>(this);
+		}
+	}
+	
+	/*
+	 * cell value factory of a model column, also used to read 
+	 * the grouping keys without creating cell values
+	 */
+	public static final class ColumnValueFactory<S, T> implements Callback<CellDataFeatures<S, T>, ObservableValue<T>> {
+		private final Column<T> column;
+		
+		ColumnValueFactory(Column<T> column) {
+			this.column = column;
+		}
+		
+		public Column<T> getColumn(){
+			return column;
+		}
+		
+		@Override
+		public ObservableValue<T> call(CellDataFeatures<S, T> param) {
+			final Object rowObject = param.getValue().getValue();
+			final TreeTableColumn<S, T> treeTableColumn = param.getTreeTableColumn();
+			if(rowObject instanceof Row){
+				if(!(treeTableColumn instanceof JFXTreeTableColumn) || ((JFXTreeTableColumn<S, T>) treeTableColumn).validateValue(param))
+					return new CellValue<>(column, ((Row) rowObject).index);
+			}
+			if(treeTableColumn instanceof JFXTreeTableColumn)
+				return ((JFXTreeTableColumn<S, T>) treeTableColumn).getComputedValue(param);
+			return null;
+		}
+	}
+	
+	public static final class IntColumn extends Column<Integer> {
+		private int[] values = new int[0];
+		
+		IntColumn(String name) {
+			super(name);
+		}
+		
+		public int getInt(int row){
+			return values[row];
+		}
+		
+		public void setInt(int row, int value){
+			values[row] = value;
+		}
+		
+		@Override
+		public Integer get(int row) {
+			return values[row];
+		}
+		
+		@Override
+		public void set(int row, Integer value) {
+			values[row] = value == null ? 0 : value;
+		}
+		
+		@Override
+		void resize(int capacity) {
+			values = Arrays.copyOf(values, capacity);
+		}
+		
+		@Override
+		void clear() {
+			Arrays.fill(values, 0);
+		}
+	}
+	
+	public static final class LongColumn extends Column<Long> {
+		private long[] values = new long[0];
+		
+		LongColumn(String name) {
+			super(name);
+		}
+		
+		public long getLong(int row){
+			return values[row];
+		}
+		
+		public void setLong(int row, long value){
+			values[row] = value;
+		}
+		
+		@Override
+		public Long get(int row) {
+			return values[row];
+		}
+		
+		@Override
+		public void set(int row, Long value) {
+			values[row] = value == null ? 0 : value;
+		}
+		
+		@Override
+		void resize(int capacity) {
+			values = Arrays.copyOf(values, capacity);
+		}
+		
+		@Override
+		void clear() {
+			Arrays.fill(values, 0);
+		}
+	}
+	
+	public static final class DoubleColumn extends Column<Double> {
+		private double[] values = new double[0];
+		
+		DoubleColumn(String name) {
+			super(name);
+		}
+		
+		public double getDouble(int row){
+			return values[row];
+		}
+		
+		public void setDouble(int row, double value){
+			values[row] = value;
+		}
+		
+		@Override
+		public Double get(int row) {
+			return values[row];
+		}
+		
+		@Override
+		public void set(int row, Double value) {
+			values[row] = value == null ? 0 : value;
+		}
+		
+		@Override
+		void resize(int capacity) {
+			values = Arrays.copyOf(values, capacity);
+		}
+		
+		@Override
+		void clear() {
+			Arrays.fill(values, 0);
+		}
+	}
+	
+	public static final class ObjectColumn<V> extends Column<V> {
+		private Object[] values = new Object[0];
+		
+		ObjectColumn(String name) {
+			super(name);
+		}
+		
+		@SuppressWarnings("unchecked")
+		@Override
+		public V get(int row) {
+			return (V) values[row];
+		}
+		
+		@Override
+		public void set(int row, V value) {
+			values[row] = value;
+		}
+		
+		@Override
+		void resize(int capacity) {
+			values = Arrays.copyOf(values, capacity);
+		}
+		
+		@Override
+		void clear() {
+			// release the references of the removed rows
+			Arrays.fill(values, null);
+		}
+	}
+	
+	/*
+	 * read only cell value, the value is read from the column on each access
+	 */
+	private static final class CellValue<T> extends ObservableValueBase<T> {
+		private final Column<T> column;
+		private final int row;
+		
+		CellValue(Column<T> column, int row) {
+			this.column = column;
+			this.row = row;
+		}
+		
+		@Override
+		public T getValue() {
+			return column.get(row);
+		}
+	}
+}
@@ -32,20 +32,43 @@ import javafx.scene.control.TreeTableColumn;
 
 public class RecursiveTreeObject<T> {
 
-	ObservableList<T> children = FXCollections.observableArrayList();
+	// the children list is created on first access
+	ObservableList<T> children;
+	
+	public RecursiveTreeObject() {
+	}
+	
+	/*
+	 * leaf objects share an empty children list
+	 */
+	RecursiveTreeObject(boolean leaf) {
+		if(leaf) children = FXCollections.emptyObservableList();
+	}
 	
 	public ObservableList<T> getChildren(){
+		if(children == null) children = FXCollections.observableArrayList();
 		return children;
 	}	
 	
-	ObjectProperty<TreeTableColumn<T, ?>> groupedColumn = new SimpleObjectProperty<>();
+	/**
+	 * unlike {@link #getChildren()}, it does not create the children list of leaves
+	 * 
+	 * @return true if children were added to this object
+	 */
+	public final boolean hasChildren(){
+		return children != null && !children.isEmpty();
+	}
+	
+	// grouping properties are only created for group objects
+	ObjectProperty<TreeTableColumn<T, ?>> groupedColumn;
 
 	public final ObjectProperty<TreeTableColumn<T, ?>> groupedColumnProperty() {
+		if(groupedColumn == null) groupedColumn = new SimpleObjectProperty<>();
 		return this.groupedColumn;
 	}
 
 	public final TreeTableColumn<T, ?> getGroupedColumn() {
-		return this.groupedColumnProperty().get();
+		return groupedColumn == null ? null : groupedColumn.get();
 	}
 
 	public final void setGroupedColumn(final TreeTableColumn<T, ?> groupedColumn) {
@@ -53,14 +76,15 @@ public class RecursiveTreeObject<T> {
 	}
 	
 	
-	ObjectProperty<Object> groupedValue = new SimpleObjectProperty<>();
+	ObjectProperty<Object> groupedValue;
 
 	public final ObjectProperty<Object> groupedValueProperty() {
+		if(groupedValue == null) groupedValue = new SimpleObjectProperty<>();
 		return this.groupedValue;
 	}
 
 	public final java.lang.Object getGroupedValue() {
-		return this.groupedValueProperty().get();
+		return groupedValue == null ? null : groupedValue.get();
 	}
 
 	public final void setGroupedValue(final java.lang.Object groupedValue) {
@@ -0,0 +1,80 @@
+/*
+ * JFoenix
+ * Copyright (c) 2015, JFoenix and/or its affiliates., All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+
+package com.jfoenix.effects;
+
+import javafx.animation.Timeline;
+import javafx.scene.Node;
+import javafx.scene.effect.BlurType;
+import javafx.scene.effect.DropShadow;
+import javafx.util.Duration;
+
+import com.jfoenix.transitions.CachedTransition;
+
+/*
+ * animates the depth of a node by changing a single DropShadow in place, 
+ * one transition is kept per node and reused by the following animations
+ */
+class DepthTransition extends CachedTransition {
+
+	private final DropShadow effect;
+	private double fromRadius, fromSpread, fromOffsetX, fromOffsetY;
+	private double toRadius, toSpread, toOffsetX, toOffsetY;
+
+	DepthTransition(Node node) {
+		super(node, new Timeline());
+		DropShadow level = JFXDepthManager.getShadowAt(0);
+		effect = new DropShadow(BlurType.GAUSSIAN, level.getColor(), level.getRadius(), level.getSpread(), level.getOffsetX(), level.getOffsetY());
+	}
+
+	void animateTo(DropShadow level, Duration duration){
+		stop();
+		if(node.getEffect() != effect){
+			// continue from the current depth of the node if any
+			DropShadow current = node.getEffect() instanceof DropShadow ? (DropShadow) node.getEffect() : JFXDepthManager.getShadowAt(0);
+			effect.setColor(current.getColor());
+			effect.setRadius(current.getRadius());
+			effect.setSpread(current.getSpread());
+			effect.setOffsetX(current.getOffsetX());
+			effect.setOffsetY(current.getOffsetY());
+			node.setEffect(effect);
+		}
+		fromRadius = effect.getRadius();
+		fromSpread = effect.getSpread();
+		fromOffsetX = effect.getOffsetX();
+		fromOffsetY = effect.getOffsetY();
+		toRadius = level.getRadius();
+		toSpread = level.getSpread();
+		toOffsetX = level.getOffsetX();
+		toOffsetY = level.getOffsetY();
+		effect.setColor(level.getColor());
+		if(duration.lessThanOrEqualTo(Duration.ZERO)){
+			interpolate(1);
+			return;
+		}
+		setCycleDuration(duration);
+		playFromStart();
+	}
+
+	@Override protected void interpolate(double d) {
+		effect.setRadius(fromRadius + (toRadius - fromRadius) * d);
+		effect.setSpread(fromSpread + (toSpread - fromSpread) * d);
+		effect.setOffsetX(fromOffsetX + (toOffsetX - fromOffsetX) * d);
+		effect.setOffsetY(fromOffsetY + (toOffsetY - fromOffsetY) * d);
+	}
+}
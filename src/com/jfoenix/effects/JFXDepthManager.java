@@ -18,13 +18,52 @@
 
 package com.jfoenix.effects;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javafx.beans.value.ChangeListener;
+import javafx.geometry.Insets;
 import javafx.scene.Node;
 import javafx.scene.effect.BlurType;
 import javafx.scene.effect.DropShadow;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+import javafx.scene.layout.Border;
+import javafx.scene.layout.BorderImage;
+import javafx.scene.layout.BorderRepeat;
+import javafx.scene.layout.BorderStroke;
+import javafx.scene.layout.BorderWidths;
+import javafx.scene.layout.Region;
 import javafx.scene.paint.Color;
+import javafx.util.Duration;
 
 public class JFXDepthManager {
 
+	/**
+	 * how the depth shadow is rendered
+	 */
+	public static enum DepthMode {
+		/**
+		 * a new DropShadow effect per node, the effect can be modified (e.g. animated)
+		 */
+		EFFECT,
+		/**
+		 * one DropShadow effect per level shared by all nodes, the effect must not be modified
+		 */
+		SHARED_EFFECT,
+		/**
+		 * the shadow is drawn behind the node as a nine-patch border image, the shadow
+		 * bitmap is computed once per level so changing the node content does not blur
+		 * it again. meant for rectangular opaque regions (lists, cards, tool bars), 
+		 * nodes that are not regions use {@link #SHARED_EFFECT}.
+		 * The image is set as the region border, which is styleable, so it's replaced 
+		 * by any -fx-border-* style (or -fx-border-image-*) applied to the region, 
+		 * use the effect modes for regions styled with a border
+		 */
+		NINE_PATCH
+	}
+
 	private static DropShadow[] depth = new DropShadow[]{
 		new DropShadow(BlurType.GAUSSIAN, Color.rgb(0,0,0,0.26), 0, 0, 0, 0),
 		new DropShadow(BlurType.GAUSSIAN, Color.rgb(0,0,0,0.26), 10, 0.12, -1, 2),
@@ -33,10 +72,93 @@ public class JFXDepthManager {
 		new DropShadow(BlurType.GAUSSIAN, Color.rgb(0,0,0,0.26), 25, 0.25, 0, 8),
 		new DropShadow(BlurType.GAUSSIAN, Color.rgb(0,0,0,0.26), 30, 0.30, 0, 10)};
 
+	// created on demand, shared by all nodes using the same level
+	private static final DropShadow[] sharedDepth = new DropShadow[depth.length];
+	private static final BorderImage[] shadowImages = new BorderImage[depth.length];
+
+	private static DepthMode defaultMode = DepthMode.SHARED_EFFECT;
+
+	private static final Duration DEFAULT_ANIMATION_DURATION = Duration.millis(200);
+	private static final String DEPTH_TRANSITION_KEY = "jfx-depth-transition";
+	private static final String HOVER_LISTENER_KEY = "jfx-depth-hover-listener";
+
 	public static void setDepth(Node control, int level){
+		setDepth(control, level, DepthMode.EFFECT);
+	}
+
+	public static void setDepth(Node control, int level, DepthMode mode){
+		level = level < 0 ? 0 : level;
+		level = level > 5 ? 5 : level;
+		if(mode == DepthMode.NINE_PATCH && !(control instanceof Region)) mode = DepthMode.SHARED_EFFECT;
+		if(control instanceof Region) setShadowImage((Region) control, mode == DepthMode.NINE_PATCH ? getShadowImage(level) : null);
+
+		switch(mode){
+		case EFFECT:
+			control.setEffect(new DropShadow(BlurType.GAUSSIAN, depth[level].getColor() ,depth[level].getRadius(),depth[level].getSpread(),depth[level].getOffsetX(),depth[level].getOffsetY()));
+			break;
+		case SHARED_EFFECT:
+			if(sharedDepth[level] == null) sharedDepth[level] = new DropShadow(BlurType.GAUSSIAN, depth[level].getColor() ,depth[level].getRadius(),depth[level].getSpread(),depth[level].getOffsetX(),depth[level].getOffsetY());
+			control.setEffect(sharedDepth[level]);
+			break;
+		case NINE_PATCH:
+			control.setEffect(null);
+			break;
+		}
+	}
+
+	public static void animateDepth(Node control, int level){
+		animateDepth(control, level, DEFAULT_ANIMATION_DURATION);
+	}
+
+	/**
+	 * animates the depth of the node from its current depth to the given level. 
+	 * the node keeps one DropShadow that is modified in place, and the node is 
+	 * cached while the animation is running. successive calls reuse the same 
+	 * effect and transition so nothing is allocated per frame or per call.
+	 * 
+	 * @param control
+	 * @param level
+	 * @param duration
+	 */
+	public static void animateDepth(Node control, int level, Duration duration){
 		level = level < 0 ? 0 : level;
 		level = level > 5 ? 5 : level;
-		control.setEffect(new DropShadow(BlurType.GAUSSIAN, depth[level].getColor() ,depth[level].getRadius(),depth[level].getSpread(),depth[level].getOffsetX(),depth[level].getOffsetY()));
+		if(control instanceof Region) setShadowImage((Region) control, null);
+		DepthTransition transition = (DepthTransition) control.getProperties().get(DEPTH_TRANSITION_KEY);
+		if(transition == null){
+			transition = new DepthTransition(control);
+			control.getProperties().put(DEPTH_TRANSITION_KEY, transition);
+		}
+		transition.animateTo(depth[level], duration);
+	}
+
+	/**
+	 * sets the depth of the node and animates it to the hover level 
+	 * while the mouse is over the node (e.g. raised cards), calling it
+	 * again replaces the levels of the previous call
+	 * 
+	 * @param control
+	 * @param level
+	 * @param hoverLevel
+	 */
+	@SuppressWarnings("unchecked")
+	public static void raiseOnHover(Node control, int level, int hoverLevel){
+		animateDepth(control, level, Duration.ZERO);
+		final ChangeListener<Boolean> hoverListener = (o,oldVal,newVal)-> animateDepth(control, newVal ? hoverLevel : level);
+		final ChangeListener<Boolean> oldListener = (ChangeListener<Boolean>) control.getProperties().put(HOVER_LISTENER_KEY, hoverListener);
+		if(oldListener != null) control.hoverProperty().removeListener(oldListener);
+		control.hoverProperty().addListener(hoverListener);
+	}
+
+	/**
+	 * @return the mode used by the controls that don't modify their depth effect
+	 */
+	public static DepthMode getDefaultMode(){
+		return defaultMode;
+	}
+
+	public static void setDefaultMode(DepthMode mode){
+		defaultMode = mode == null ? DepthMode.SHARED_EFFECT : mode;
 	}
 
 	public static int getLevels(){
@@ -51,4 +173,82 @@ public class JFXDepthManager {
 		control.setEffect(new DropShadow(BlurType.GAUSSIAN, Color.rgb(0,0,0,0.26) ,5, 0.05, 0, 1));
 	}
 
+	/*
+	 * replaces the shadow image of the region, other border strokes and images are kept
+	 */
+	private static void setShadowImage(Region region, BorderImage shadowImage){
+		Border border = region.getBorder();
+		List<BorderImage> oldImages = border == null ? Collections.emptyList() : border.getImages();
+		List<BorderImage> images = new ArrayList<>();
+		// the shadow is drawn before the other border images
+		if(shadowImage != null) images.add(shadowImage);
+		for(BorderImage image : oldImages) if(!isShadowImage(image)) images.add(image);
+		if(images.equals(oldImages)) return;
+
+		List<BorderStroke> strokes = border == null ? Collections.emptyList() : border.getStrokes();
+		region.setBorder(strokes.isEmpty() && images.isEmpty() ? null : new Border(strokes, images));
+	}
+
+	private static boolean isShadowImage(BorderImage image){
+		for(BorderImage shadowImage : shadowImages) if(image == shadowImage) return true;
+		return false;
+	}
+
+	private static BorderImage getShadowImage(int level){
+		if(level == 0) return null;
+		if(shadowImages[level] == null) shadowImages[level] = createShadowImage(depth[level]);
+		return shadowImages[level];
+	}
+
+	/*
+	 * renders the shadow of a square into a nine-patch image, the node itself is 
+	 * placed at pad pixels from the image edges and its area is left transparent.
+	 * the gaussian blur of a rectangle is separable, so each pixel is the product 
+	 * of the blurred edges in x and y.
+	 * the border image only covers the pad band outside the node, so it doesn't 
+	 * change the region insets. the shadow fading near the corners is part of the
+	 * edges, the node span is wide enough so it stays short once stretched.
+	 */
+	private static BorderImage createShadowImage(DropShadow shadow){
+		final double radius = shadow.getRadius();
+		final int pad = (int) Math.ceil(radius + Math.max(Math.abs(shadow.getOffsetX()), Math.abs(shadow.getOffsetY())));
+		final int span = 4 * pad + 1;
+		final int size = span + 2 * pad;
+		final double sigma = Math.max(radius / 3, 0.5);
+		final double[] xAlpha = edges(size, pad + shadow.getOffsetX(), size - pad + shadow.getOffsetX(), sigma);
+		final double[] yAlpha = edges(size, pad + shadow.getOffsetY(), size - pad + shadow.getOffsetY(), sigma);
+
+		final Color color = shadow.getColor();
+		final int rgb = ((int) Math.round(color.getRed() * 255) << 16) | ((int) Math.round(color.getGreen() * 255) << 8) | (int) Math.round(color.getBlue() * 255);
+		final double spread = Math.min(shadow.getSpread(), 0.99);
+		WritableImage image = new WritableImage(size, size);
+		PixelWriter writer = image.getPixelWriter();
+		for(int y = 0; y < size; y++){
+			for(int x = 0; x < size; x++){
+				boolean inside = x >= pad && x < size - pad && y >= pad && y < size - pad;
+				double alpha = inside ? 0 : Math.min(1, xAlpha[x] * yAlpha[y] / (1 - spread)) * color.getOpacity();
+				writer.setArgb(x, y, ((int) Math.round(alpha * 255) << 24) | rgb);
+			}
+		}
+		return new BorderImage(image, new BorderWidths(pad), new Insets(-pad), new BorderWidths(pad), false, BorderRepeat.STRETCH, BorderRepeat.STRETCH);
+	}
+
+	// coverage of the [start, end] segment blurred by a gaussian, sampled at the pixel centers
+	private static double[] edges(int size, double start, double end, double sigma){
+		double[] values = new double[size];
+		for(int i = 0; i < size; i++){
+			double center = i + 0.5;
+			values[i] = phi((center - start) / sigma) - phi((center - end) / sigma);
+		}
+		return values;
+	}
+
+	// normal cumulative distribution (Abramowitz & Stegun 7.1.26)
+	private static double phi(double x){
+		double z = Math.abs(x) / Math.sqrt(2);
+		double t = 1 / (1 + 0.3275911 * z);
+		double erf = 1 - (((((1.061405429 * t - 1.453152027) * t) + 1.421413741) * t - 0.284496736) * t + 0.254829592) * t * Math.exp(-z * z);
+		return x < 0 ? (1 - erf) / 2 : (1 + erf) / 2;
+	}
+
 }
@@ -0,0 +1,172 @@
+/*
+ * JFoenix
+ * Copyright (c) 2015, JFoenix and/or its affiliates., All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.jfoenix.instrumentation;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import javafx.application.Platform;
+
+/**
+ * JFXInstrumentation records the time spent by JFoenix components 
+ * (skins layout, animations, FX dispatch, tree table filtering / grouping) 
+ * in latency histograms per component. 
+ * Executions holding the FX thread longer than the stall threshold are reported 
+ * as stall events to the registered {@link JFXInstrumentationListener}s.
+ * 
+ * Instrumentation is disabled by default, it can be enabled using {@link #setEnabled(boolean)}
+ * or the system property "jfoenix.instrumentation", metrics can be exposed 
+ * through JMX using {@link #registerMBean()}.
+ */
+public final class JFXInstrumentation {
+
+	private static volatile boolean enabled = Boolean.getBoolean("jfoenix.instrumentation");
+	private static volatile long stallThreshold = TimeUnit.MILLISECONDS.toNanos(50);
+
+	private static final ConcurrentHashMap<String, JFXLatencyHistogram> histograms = new ConcurrentHashMap<>();
+	private static final CopyOnWriteArrayList<JFXInstrumentationListener> listeners = new CopyOnWriteArrayList<>();
+	private static final AtomicLong stalls = new AtomicLong();
+
+	// start time returned while disabled, any other value is a valid nanoTime
+	private static final long NOT_STARTED = Long.MIN_VALUE;
+
+	private JFXInstrumentation() {
+	}
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	public static void setEnabled(boolean enabled) {
+		JFXInstrumentation.enabled = enabled;
+	}
+
+	public static long getStallThreshold(TimeUnit unit) {
+		return unit.convert(stallThreshold, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * @param threshold executions on the FX thread exceeding this duration are reported as stalls
+	 */
+	public static void setStallThreshold(long threshold, TimeUnit unit) {
+		stallThreshold = unit.toNanos(threshold);
+	}
+
+	/**
+	 * @return the start time to be passed to {@link #stop(String, long)}, 
+	 * or {@link Long#MIN_VALUE} if the instrumentation is disabled
+	 */
+	public static long start(){
+		return enabled ? System.nanoTime() : NOT_STARTED;
+	}
+
+	/**
+	 * records the execution time of the component since the start time
+	 * 
+	 * @param component name of the instrumented component, e.g JFXListViewSkin.layoutChildren
+	 * @param start the value returned by {@link #start()}
+	 */
+	public static void stop(String component, long start){
+		if(start == NOT_STARTED) return;
+		record(component, System.nanoTime() - start, Platform.isFxApplicationThread());
+	}
+
+	/**
+	 * @return the runnable wrapped to record its queuing and execution time,
+	 * or the runnable itself if the instrumentation is disabled
+	 */
+	public static Runnable wrap(String component, Runnable runnable){
+		if(!enabled) return runnable;
+		final long queued = System.nanoTime();
+		return ()->{
+			final long start = System.nanoTime();
+			record(component + ".queued", start - queued, false);
+			try{
+				runnable.run();
+			}finally{
+				record(component, System.nanoTime() - start, Platform.isFxApplicationThread());
+			}
+		};
+	}
+
+	private static void record(String component, long nanos, boolean fxThread){
+		JFXLatencyHistogram histogram = histograms.get(component);
+		if(histogram == null) histogram = histograms.computeIfAbsent(component, JFXLatencyHistogram::new);
+		histogram.record(nanos);
+		for(JFXInstrumentationListener listener : listeners)
+			listener.onLatency(component, nanos);
+		if(fxThread && nanos >= stallThreshold){
+			stalls.incrementAndGet();
+			for(JFXInstrumentationListener listener : listeners)
+				listener.onStall(component, nanos);
+		}
+	}
+
+	public static void addListener(JFXInstrumentationListener listener){
+		listeners.add(listener);
+	}
+
+	public static void removeListener(JFXInstrumentationListener listener){
+		listeners.remove(listener);
+	}
+
+	/**
+	 * @return the histogram of the component or null if it was not recorded yet
+	 */
+	public static JFXLatencyHistogram getHistogram(String component){
+		return histograms.get(component);
+	}
+
+	public static List<String> getComponents(){
+		List<String> components = new ArrayList<>(histograms.keySet());
+		Collections.sort(components);
+		return components;
+	}
+
+	public static long getStallsCount(){
+		return stalls.get();
+	}
+
+	public static void reset(){
+		histograms.clear();
+		stalls.set(0);
+	}
+
+	/**
+	 * registers the instrumentation MXBean in the platform MBean server 
+	 * under the name "com.jfoenix:type=Instrumentation"
+	 */
+	public static synchronized void registerMBean(){
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(JFXInstrumentationMXBean.OBJECT_NAME);
+			if(!server.isRegistered(name)) server.registerMBean(new JFXInstrumentationMXBean.Impl(), name);
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+	}
+}
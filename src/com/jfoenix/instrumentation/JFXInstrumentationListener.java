@@ -0,0 +1,43 @@
+/*
+ * JFoenix
+ * Copyright (c) 2015, JFoenix and/or its affiliates., All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.jfoenix.instrumentation;
+
+/**
+ * listener of the instrumentation events, it's called on the thread 
+ * executing the instrumented component so it should return quickly
+ */
+public interface JFXInstrumentationListener {
+
+	/**
+	 * called for each recorded execution
+	 * 
+	 * @param component name of the instrumented component
+	 * @param nanos execution time in nanoseconds
+	 */
+	default void onLatency(String component, long nanos){
+	}
+
+	/**
+	 * called when a component holds the FX thread longer than the stall threshold
+	 * 
+	 * @param component name of the instrumented component
+	 * @param nanos execution time in nanoseconds
+	 */
+	default void onStall(String component, long nanos){
+	}
+}
@@ -0,0 +1,142 @@
+/*
+ * JFoenix
+ * Copyright (c) 2015, JFoenix and/or its affiliates., All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.jfoenix.instrumentation;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.jfoenix.transitions.JFXAnimationManager;
+
+/**
+ * JMX view of {@link JFXInstrumentation}, times are reported in microseconds
+ */
+public interface JFXInstrumentationMXBean {
+
+	String OBJECT_NAME = "com.jfoenix:type=Instrumentation";
+
+	boolean isEnabled();
+
+	void setEnabled(boolean enabled);
+
+	long getStallThresholdMillis();
+
+	void setStallThresholdMillis(long threshold);
+
+	long getStallsCount();
+
+	/**
+	 * @return the number of running JFoenix endless animations (spinners, progress bars)
+	 */
+	int getActiveAnimationsCount();
+
+	/**
+	 * @return the number of JFoenix endless animations paused because their node is hidden
+	 */
+	int getPausedAnimationsCount();
+
+	List<String> getComponents();
+
+	/**
+	 * @return one line summary per component
+	 */
+	List<String> getSummary();
+
+	long getCount(String component);
+
+	long getPercentile(String component, double percentile);
+
+	long getMax(String component);
+
+	void reset();
+
+	class Impl implements JFXInstrumentationMXBean {
+
+		@Override
+		public boolean isEnabled() {
+			return JFXInstrumentation.isEnabled();
+		}
+
+		@Override
+		public void setEnabled(boolean enabled) {
+			JFXInstrumentation.setEnabled(enabled);
+		}
+
+		@Override
+		public long getStallThresholdMillis() {
+			return JFXInstrumentation.getStallThreshold(TimeUnit.MILLISECONDS);
+		}
+
+		@Override
+		public void setStallThresholdMillis(long threshold) {
+			JFXInstrumentation.setStallThreshold(threshold, TimeUnit.MILLISECONDS);
+		}
+
+		@Override
+		public long getStallsCount() {
+			return JFXInstrumentation.getStallsCount();
+		}
+
+		@Override
+		public int getActiveAnimationsCount() {
+			return JFXAnimationManager.getActiveAnimationsCount();
+		}
+
+		@Override
+		public int getPausedAnimationsCount() {
+			return JFXAnimationManager.getPausedAnimationsCount();
+		}
+
+		@Override
+		public List<String> getComponents() {
+			return JFXInstrumentation.getComponents();
+		}
+
+		@Override
+		public List<String> getSummary() {
+			List<String> summary = JFXInstrumentation.getComponents();
+			for(int i = 0 ; i < summary.size(); i++){
+				JFXLatencyHistogram histogram = JFXInstrumentation.getHistogram(summary.get(i));
+				if(histogram != null) summary.set(i, histogram.toString());
+			}
+			return summary;
+		}
+
+		@Override
+		public long getCount(String component) {
+			JFXLatencyHistogram histogram = JFXInstrumentation.getHistogram(component);
+			return histogram == null ? 0 : histogram.getCount();
+		}
+
+		@Override
+		public long getPercentile(String component, double percentile) {
+			JFXLatencyHistogram histogram = JFXInstrumentation.getHistogram(component);
+			return histogram == null ? 0 : histogram.getPercentile(percentile, TimeUnit.MICROSECONDS);
+		}
+
+		@Override
+		public long getMax(String component) {
+			JFXLatencyHistogram histogram = JFXInstrumentation.getHistogram(component);
+			return histogram == null ? 0 : histogram.getMax(TimeUnit.MICROSECONDS);
+		}
+
+		@Override
+		public void reset() {
+			JFXInstrumentation.reset();
+		}
+	}
+}
@@ -0,0 +1,103 @@
+/*
+ * JFoenix
+ * Copyright (c) 2015, JFoenix and/or its affiliates., All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.jfoenix.instrumentation;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * lock free latency histogram, latencies are recorded in power of two
+ * microseconds buckets, so percentiles are approximated by the bucket upper bound
+ */
+public final class JFXLatencyHistogram {
+
+	private static final int BUCKETS = 32;
+
+	private final String component;
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+	private final AtomicLong count = new AtomicLong();
+	private final AtomicLong total = new AtomicLong();
+	private final AtomicLong max = new AtomicLong();
+
+	public JFXLatencyHistogram(String component) {
+		this.component = component;
+	}
+
+	public String getComponent() {
+		return component;
+	}
+
+	public void record(long nanos){
+		final long micros = Math.max(0, nanos / 1000);
+		final int bucket = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+		buckets.incrementAndGet(bucket);
+		count.incrementAndGet();
+		total.addAndGet(nanos);
+		long currentMax;
+		while(nanos > (currentMax = max.get()) && !max.compareAndSet(currentMax, nanos));
+	}
+
+	public long getCount(){
+		return count.get();
+	}
+
+	public long getMax(TimeUnit unit){
+		return unit.convert(max.get(), TimeUnit.NANOSECONDS);
+	}
+
+	public double getMean(TimeUnit unit){
+		final long count = this.count.get();
+		if(count == 0) return 0;
+		return (double) total.get() / count / unit.toNanos(1);
+	}
+
+	/**
+	 * @param percentile in the range [0, 100]
+	 * @return the upper bound of the bucket containing the percentile
+	 */
+	public long getPercentile(double percentile, TimeUnit unit){
+		final long count = this.count.get();
+		if(count == 0) return 0;
+		final long rank = (long) Math.ceil(count * Math.min(100, Math.max(0, percentile)) / 100);
+		long seen = 0;
+		for(int i = 0 ; i < BUCKETS; i++){
+			seen += buckets.get(i);
+			if(seen >= Math.max(1, rank))
+				return unit.convert(Math.min(1L << i, getMax(TimeUnit.MICROSECONDS)), TimeUnit.MICROSECONDS);
+		}
+		return getMax(unit);
+	}
+
+	/**
+	 * @return number of recorded latencies per bucket, bucket i counts the latencies 
+	 * in the range [2^(i-1), 2^i) microseconds
+	 */
+	public long[] getBuckets(){
+		long[] values = new long[BUCKETS];
+		for(int i = 0 ; i < BUCKETS; i++) values[i] = buckets.get(i);
+		return values;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s: count=%d mean=%.3fms p50=%dus p99=%dus max=%dus", component, getCount(), 
+				getMean(TimeUnit.MILLISECONDS), getPercentile(50, TimeUnit.MICROSECONDS), 
+				getPercentile(99, TimeUnit.MICROSECONDS), getMax(TimeUnit.MICROSECONDS));
+	}
+}
@@ -40,6 +40,7 @@ import javafx.scene.layout.StackPane;
 
 import com.jfoenix.controls.JFXListView;
 import com.jfoenix.effects.JFXDepthManager;
+import com.jfoenix.instrumentation.JFXInstrumentation;
 import com.sun.javafx.scene.control.behavior.ListViewBehavior;
 import com.sun.javafx.scene.control.skin.resources.ControlResources;
 
@@ -69,8 +70,9 @@ public class JFXListViewSkin<T> extends  VirtualContainerBase<ListView<T>, ListV
     public JFXListViewSkin(final JFXListView<T> listView) {
         super(listView, new ListViewBehavior<T>(listView));
 
-        JFXDepthManager.setDepth(flow, listView.depthProperty().get());
-        listView.depthProperty().addListener((o,oldVal,newVal)->JFXDepthManager.setDepth(flow, newVal));
+        // the flow effect is never modified so it can be shared
+        JFXDepthManager.setDepth(flow, listView.depthProperty().get(), JFXDepthManager.getDefaultMode());
+        listView.depthProperty().addListener((o,oldVal,newVal)->JFXDepthManager.setDepth(flow, newVal, JFXDepthManager.getDefaultMode()));
         
         updateListViewItems();
 
@@ -289,6 +291,7 @@ public class JFXListViewSkin<T> extends  VirtualContainerBase<ListView<T>, ListV
 
     @Override protected void layoutChildren(final double x, final double y,
             final double w, final double h) {
+        final long start = JFXInstrumentation.start();
         super.layoutChildren(x, y, w, h);
         
         if (needCellsRebuilt) {
@@ -313,6 +316,7 @@ public class JFXListViewSkin<T> extends  VirtualContainerBase<ListView<T>, ListV
             if(flow.getCellCount() > 0 && estimatedHeight < getSkinnable().getPrefHeight())
             	getSkinnable().setPrefHeight(estimatedHeight);
         }
+        JFXInstrumentation.stop("JFXListViewSkin.layoutChildren", start);
     }
     
     private double estimateHeight(){
@@ -30,6 +30,7 @@ import javafx.scene.shape.Line;
 import javafx.util.Duration;
 
 import com.jfoenix.controls.JFXProgressBar;
+import com.jfoenix.transitions.JFXAnimationManager;
 import com.sun.javafx.scene.control.behavior.BehaviorBase;
 import com.sun.javafx.scene.control.skin.BehaviorSkinBase;
 
@@ -65,7 +66,7 @@ public class JFXProgressBarSkin extends BehaviorSkinBase<ProgressIndicator, Beha
 		getChildren().addAll(track, bar);
 		
 		getSkinnable().indeterminateProperty().addListener((o, oldVal, newVal) -> {
-			timeline.stop();
+			if(timeline != null) JFXAnimationManager.stop(getSkinnable());
 			initialization = false;
 		});
 		
@@ -98,10 +99,12 @@ public class JFXProgressBarSkin extends BehaviorSkinBase<ProgressIndicator, Beha
 			initializeListeners();
 
 			if (isIndeterminate) {
+				if(timeline != null) timeline.stop();
 				initializeTimeline();
 				timeline.setCycleCount(Timeline.INDEFINITE);
 				timeline.setRate(1);
-				timeline.play();
+				// the progress bar is only animated while it's showing
+				JFXAnimationManager.playWhileShowing(getSkinnable(), timeline);
 			}
 
 			initialization = true;
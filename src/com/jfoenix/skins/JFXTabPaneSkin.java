@@ -23,6 +23,7 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
+import javafx.animation.Animation;
 import javafx.animation.Interpolator;
 import javafx.animation.KeyFrame;
 import javafx.animation.KeyValue;
@@ -85,6 +86,7 @@ import com.jfoenix.controls.JFXRippler;
 import com.jfoenix.controls.JFXRippler.RipplerMask;
 import com.jfoenix.controls.JFXRippler.RipplerPos;
 import com.jfoenix.effects.JFXDepthManager;
+import com.jfoenix.instrumentation.JFXInstrumentation;
 import com.sun.javafx.css.converters.EnumConverter;
 import com.sun.javafx.scene.control.MultiplePropertyChangeListenerHandler;
 import com.sun.javafx.scene.control.behavior.TabPaneBehavior;
@@ -507,6 +509,7 @@ public class JFXTabPaneSkin extends BehaviorSkinBase<TabPane, TabPaneBehavior> {
 
 	@Override
 	protected void layoutChildren(final double x, final double y, final double w, final double h) {
+		final long start = JFXInstrumentation.start();
 		TabPane tabPane = getSkinnable();
 		Side tabPosition = tabPane.getSide();
 
@@ -592,9 +595,12 @@ public class JFXTabPaneSkin extends BehaviorSkinBase<TabPane, TabPaneBehavior> {
 
 		tabsContainer.resize(contentWidth * tabContentRegions.size(), contentHeight);
 
+		// unselected contents are hidden (so their animations are paused), 
+		// they are only shown while the selection animation slides through them
+		final boolean animatingSelection = selectionAnimation != null && selectionAnimation.getStatus() == Animation.Status.RUNNING;
 		for (int i = 0, max = tabContentRegions.size(); i < max; i++) {
 			TabContentRegion tabContent = tabContentRegions.get(i);
-			tabContent.setVisible(true);
+			tabContent.setVisible(animatingSelection || tabContent.getTab() == selectedTab);
 
 			tabContent.setTranslateX(contentWidth*i);
 
@@ -616,7 +622,7 @@ public class JFXTabPaneSkin extends BehaviorSkinBase<TabPane, TabPaneBehavior> {
 						diffTabsIndices = 0;
 					}
 					// animate upon tab selection only otherwise just translate the selected tab 
-					if(isSelectingTab) new Timeline(new KeyFrame(Duration.millis(320), new KeyValue(tabsContainer.translateXProperty(), -contentWidth*index, Interpolator.EASE_BOTH))).play();
+					if(isSelectingTab) animateSelection(-contentWidth*index);
 					else tabsContainer.setTranslateX(-contentWidth*index);
 				}
 			}
@@ -626,6 +632,7 @@ public class JFXTabPaneSkin extends BehaviorSkinBase<TabPane, TabPaneBehavior> {
 			tabContent.resize(contentWidth, contentHeight);
 			//			tabContent.relocate(contentStartX, contentStartY);
 		}
+		JFXInstrumentation.stop("JFXTabPaneSkin.layoutChildren", start);
 	}
 
 	/*
@@ -634,6 +641,20 @@ public class JFXTabPaneSkin extends BehaviorSkinBase<TabPane, TabPaneBehavior> {
 	 */
 	private int diffTabsIndices = 0;
 	
+	private Timeline selectionAnimation;
+	
+	private void animateSelection(double translateX){
+		if(selectionAnimation != null) selectionAnimation.stop();
+		selectionAnimation = new Timeline(new KeyFrame(Duration.millis(320), new KeyValue(tabsContainer.translateXProperty(), translateX, Interpolator.EASE_BOTH)));
+		selectionAnimation.setOnFinished(event -> {
+			for (TabContentRegion tabContent : tabContentRegions) 
+				tabContent.setVisible(tabContent.getTab() == selectedTab);
+		});
+		for (TabContentRegion tabContent : tabContentRegions) 
+			tabContent.setVisible(true);
+		selectionAnimation.play();
+	}
+	
 	/**
 	 * Super-lazy instantiation pattern from Bill Pugh.
 	 * @treatAsPrivate implementation detail
@@ -28,6 +28,7 @@ import javafx.animation.KeyFrame;
 import javafx.animation.KeyValue;
 import javafx.animation.Timeline;
 import javafx.beans.value.ChangeListener;
+import javafx.beans.value.WeakChangeListener;
 import javafx.event.EventHandler;
 import javafx.scene.Node;
 import javafx.scene.Parent;
@@ -35,11 +36,14 @@ import javafx.scene.control.Control;
 import javafx.scene.control.IndexedCell;
 import javafx.scene.control.TreeItem;
 import javafx.scene.control.TreeTableRow;
+import javafx.scene.control.TreeTableView;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.StackPane;
 import javafx.util.Duration;
 
+import com.jfoenix.controls.JFXRippleCanvas;
 import com.jfoenix.controls.JFXRippler;
+import com.jfoenix.controls.JFXTreeTableView;
 import com.jfoenix.controls.datamodels.treetable.RecursiveTreeObject;
 import com.sun.javafx.scene.control.skin.TreeTableRowSkin;
 import com.sun.javafx.scene.control.skin.VirtualFlow;
@@ -56,9 +60,13 @@ public class JFXTreeTableRowSkin<T> extends TreeTableRowSkin<T> {
 	static final Map<Control, Double> maxDisclosureWidthMap = new WeakHashMap<Control, Double>();
 
 	private JFXRippler rippler;
+	// the ripples canvas of the table view this row is attached to, in canvas mode
+	private JFXRippleCanvas attachedCanvas;
 	private int oldselectedIndex = -1;
 	private int maxChildIndex = -1;
 	private EventHandler<MouseEvent> ripplerEventPropagator = (event)-> {
+		// cells could still hold the propagator after switching to canvas mode
+		if(rippler == null) return;
 		/*
 		 * fixed the issue of rippler is being stuck at the pressed state while collapsing
 		 * a group that has one of its items selected
@@ -90,6 +98,14 @@ public class JFXTreeTableRowSkin<T> extends TreeTableRowSkin<T> {
 	private Timeline collapsedAnimation;
 	private Animation expandedAnimation;
 
+	// switch the row between its own rippler and the ripples canvas
+	private ChangeListener<Boolean> canvasRipplesListener = (o,oldVal,newVal)->{
+		if(getSkinnable() == null) return;
+		getChildren().remove(rippler);
+		if(getSkinnable().getIndex() > -1) updateRippler();
+		getSkinnable().requestLayout();
+	};
+
 	public JFXTreeTableRowSkin(TreeTableRow<T> control) {
 		super(control);
 		getSkinnable().indexProperty().addListener((o,oldVal,newVal)->{
@@ -116,28 +132,61 @@ public class JFXTreeTableRowSkin<T> extends TreeTableRowSkin<T> {
 			while(temp!=null && temp.nextSibling()==null) temp = temp.getParent();		
 			maxChildIndex = temp != null ? getSkinnable().getTreeTableView().getRow(temp.nextSibling()) : getSkinnable().getTreeTableView().getExpandedItemCount();
 		});
+		if(getSkinnable().getTreeTableView() instanceof JFXTreeTableView)
+			((JFXTreeTableView<?>) getSkinnable().getTreeTableView()).canvasRipplesProperty().addListener(new WeakChangeListener<>(canvasRipplesListener));
 	}
 
 
 	@Override protected void updateChildren() {
 		super.updateChildren();				
-		if(getSkinnable().getIndex() > -1){
-			if(oldSkin != this){
-				if( (!(expandedIndex == getSkinnable().getIndex() || expandTriggered) || rippler == null)
-						|| !getSkinnable().isSelected()){
-					rippler = new JFXRippler(new StackPane());
-				}else{
-					this.rippler = oldSkin.rippler;
-				}	
+		if(getSkinnable().getIndex() > -1) updateRippler();
+	}
+
+	private void updateRippler(){
+		// canvas mode, the row ripples are drawn by the table view overlay
+		final JFXRippleCanvas rippleCanvas = getRippleCanvas();
+		if(attachedCanvas != null && attachedCanvas != rippleCanvas){
+			attachedCanvas.detach(getSkinnable());
+			attachedCanvas = null;
+		}
+		if(rippleCanvas != null){
+			rippler = null;
+			rippleCanvas.attach(getSkinnable());
+			attachedCanvas = rippleCanvas;
+			return;
+		}
+		if(oldSkin != this){
+			if( (!(expandedIndex == getSkinnable().getIndex() || expandTriggered) || rippler == null || oldSkin == null || oldSkin.rippler == null)
+					|| !getSkinnable().isSelected()){
+				rippler = new JFXRippler(new StackPane());
 			}else{
-				if(!expandTriggered){
-					rippler = new JFXRippler(new StackPane());
-				}else if(!getSkinnable().isSelected()){
-					rippler = new JFXRippler(new StackPane());
-				}
+				this.rippler = oldSkin.rippler;
+			}	
+		}else{
+			if(!expandTriggered || rippler == null){
+				rippler = new JFXRippler(new StackPane());
+			}else if(!getSkinnable().isSelected()){
+				rippler = new JFXRippler(new StackPane());
 			}
-			getChildren().add(0,rippler);
 		}
+		getChildren().add(0,rippler);
+	}
+
+	@Override
+	public void dispose() {
+		if(attachedCanvas != null){
+			attachedCanvas.detach(getSkinnable());
+			attachedCanvas = null;
+		}
+		super.dispose();
+	}
+
+	private JFXRippleCanvas getRippleCanvas(){
+		final TreeTableView<T> treeTableView = getSkinnable().getTreeTableView();
+		if(treeTableView instanceof JFXTreeTableView && ((JFXTreeTableView<?>) treeTableView).isCanvasRipples()
+				&& treeTableView.getSkin() instanceof JFXTreeTableViewSkin)
+			return ((JFXTreeTableViewSkin<?>) treeTableView.getSkin()).getRippleCanvas();
+		return null;
 	}
 
 
@@ -152,15 +201,17 @@ public class JFXTreeTableRowSkin<T> extends TreeTableRowSkin<T> {
 			super.layoutChildren(x, y, w, h);
 
 			//add rippler effects to each row in the table
-			rippler.resize(w, h);
-			for (int i = 1; i < getChildren().size(); i++) {
-				getChildren().get(i).removeEventHandler(MouseEvent.MOUSE_PRESSED, ripplerEventPropagator);
-				getChildren().get(i).removeEventHandler(MouseEvent.MOUSE_RELEASED, ripplerEventPropagator);
-				getChildren().get(i).removeEventHandler(MouseEvent.MOUSE_CLICKED, ripplerEventPropagator);
-
-				getChildren().get(i).addEventHandler(MouseEvent.MOUSE_PRESSED, ripplerEventPropagator);
-				getChildren().get(i).addEventHandler(MouseEvent.MOUSE_RELEASED, ripplerEventPropagator);
-				getChildren().get(i).addEventHandler(MouseEvent.MOUSE_CLICKED, ripplerEventPropagator);
+			if(rippler != null){
+				rippler.resize(w, h);
+				for (int i = 1; i < getChildren().size(); i++) {
+					getChildren().get(i).removeEventHandler(MouseEvent.MOUSE_PRESSED, ripplerEventPropagator);
+					getChildren().get(i).removeEventHandler(MouseEvent.MOUSE_RELEASED, ripplerEventPropagator);
+					getChildren().get(i).removeEventHandler(MouseEvent.MOUSE_CLICKED, ripplerEventPropagator);
+
+					getChildren().get(i).addEventHandler(MouseEvent.MOUSE_PRESSED, ripplerEventPropagator);
+					getChildren().get(i).addEventHandler(MouseEvent.MOUSE_RELEASED, ripplerEventPropagator);
+					getChildren().get(i).addEventHandler(MouseEvent.MOUSE_CLICKED, ripplerEventPropagator);
+				}
 			}
 
 			// disclosure row case
@@ -195,13 +246,15 @@ public class JFXTreeTableRowSkin<T> extends TreeTableRowSkin<T> {
 
 
 				// relocating the disclosure node according to the grouping column
+				// the rippler is not added to the row children in canvas mode
+				final int ripplerOffset = rippler == null ? 0 : 1;
 				Node arrow = ((Parent)getDisclosureNode()).getChildrenUnmodifiable().get(0);
-				Node col = getChildren().get((getSkinnable().getTreeTableView().getTreeItemLevel(getSkinnable().getTreeItem())+1));
+				Node col = getChildren().get((getSkinnable().getTreeTableView().getTreeItemLevel(getSkinnable().getTreeItem())+ripplerOffset));
 				if(getSkinnable().getItem() instanceof RecursiveTreeObject){
 					if(((RecursiveTreeObject<?>)getSkinnable().getItem()).getGroupedColumn()!=null){
 						int index = getSkinnable().getTreeTableView().getColumns().indexOf(((RecursiveTreeObject<?>)getSkinnable().getItem()).getGroupedColumn());
 						//						getSkinnable().getTreeTableView().getColumns().get(index).getText();
-						col = getChildren().get(index+2);
+						col = getChildren().get(index+1+ripplerOffset);
 					}
 				}								
 				arrow.getParent().setTranslateX(col.getBoundsInParent().getMinX());
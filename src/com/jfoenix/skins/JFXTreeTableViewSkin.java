@@ -20,11 +20,15 @@ package com.jfoenix.skins;
 
 import javafx.scene.control.TreeTableView;
 
+import com.jfoenix.controls.JFXRippleCanvas;
 import com.sun.javafx.scene.control.skin.TableHeaderRow;
 import com.sun.javafx.scene.control.skin.TreeTableViewSkin;
 
 public class JFXTreeTableViewSkin<S> extends TreeTableViewSkin<S> {
 
+	// shared ripples overlay of the rows, created on demand
+	private JFXRippleCanvas rippleCanvas;
+	
 	public JFXTreeTableViewSkin(TreeTableView<S> treeTableView) {
 		super(treeTableView);
 	}
@@ -34,5 +38,32 @@ public class JFXTreeTableViewSkin<S> extends TreeTableViewSkin<S> {
     	return c3dHeaderRow.getHeaderRow();
     }
 
+	public JFXRippleCanvas getRippleCanvas(){
+		if(rippleCanvas == null){
+			rippleCanvas = new JFXRippleCanvas();
+			rippleCanvas.setManaged(false);
+			getChildren().add(rippleCanvas);
+			getSkinnable().requestLayout();
+		}
+		return rippleCanvas;
+	}
+
+	@Override
+	protected void layoutChildren(double x, double y, double w, double h) {
+		super.layoutChildren(x, y, w, h);
+		// the ripples overlay covers the rows area
+		if(rippleCanvas != null){
+			rippleCanvas.relocate(flow.getLayoutX(), flow.getLayoutY());
+			rippleCanvas.setWidth(flow.getWidth());
+			rippleCanvas.setHeight(flow.getHeight());
+		}
+	}
+
+	@Override
+	public void dispose() {
+		// the rows are no longer drawn by this skin once it's replaced
+		if(rippleCanvas != null) rippleCanvas.detachAll();
+		super.dispose();
+	}
 	
 }
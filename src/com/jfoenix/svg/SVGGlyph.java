@@ -26,6 +26,7 @@ import javafx.scene.layout.Pane;
 import javafx.scene.layout.StackPane;
 import javafx.scene.paint.Paint;
 import javafx.scene.shape.SVGPath;
+import javafx.scene.shape.Shape;
 
 /**
  * @author sshahine
@@ -33,7 +34,7 @@ import javafx.scene.shape.SVGPath;
  */
 
 public class SVGGlyph extends Pane {
-	private final int glyphId;
+	private int glyphId;
 	private final String name;
 
 	private static final int DEFAULT_PREF_SIZE = 64;
@@ -42,12 +43,22 @@ public class SVGGlyph extends Pane {
 	private ObjectProperty<Paint> fill = new SimpleObjectProperty<>();
 
 	public SVGGlyph(int glyphId, String name, String svgPathContent, Paint fill) {
+		this(glyphId, name, createShape(svgPathContent), fill);
+	}
+
+	/**
+	 * creates a glyph using an already parsed shape, the shape can be 
+	 * shared between several glyphs as long as it's not modified
+	 * 
+	 * @param glyphId
+	 * @param name
+	 * @param shape
+	 * @param fill
+	 */
+	public SVGGlyph(int glyphId, String name, Shape shape, Paint fill) {
 		this.glyphId = glyphId;
 		this.name = name;
 
-		SVGPath shape = new SVGPath();
-		shape.setContent(svgPathContent);
-
 		getStyleClass().add(DEFAULT_STYLE_CLASS);
 		
 		this.fill.addListener((observable, oldValue, newValue) -> setBackground(new Background(new BackgroundFill(newValue, null, null))));
@@ -57,6 +68,18 @@ public class SVGGlyph extends Pane {
 		setPrefSize(DEFAULT_PREF_SIZE, DEFAULT_PREF_SIZE);
 	}
 
+	static SVGPath createShape(String svgPathContent){
+		SVGPath shape = new SVGPath();
+		shape.setContent(svgPathContent);
+		return shape;
+	}
+
+	// used by placeholder glyphs once their font is loaded
+	void resolve(int glyphId, Shape shape){
+		this.glyphId = glyphId;
+		setShape(shape);
+	}
+
 	public int getGlyphId() {
 		return glyphId;
 	}
@@ -82,4 +105,4 @@ public class SVGGlyph extends Pane {
 		this.setPrefSize(width, height);		
 		this.setMaxSize(StackPane.USE_PREF_SIZE, StackPane.USE_PREF_SIZE);
 	}
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,192 @@
+/*
+ * JFoenix
+ * Copyright (c) 2015, JFoenix and/or its affiliates., All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+
+package com.jfoenix.svg;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import javafx.scene.shape.ArcTo;
+import javafx.scene.shape.ClosePath;
+import javafx.scene.shape.CubicCurveTo;
+import javafx.scene.shape.LineTo;
+import javafx.scene.shape.MoveTo;
+import javafx.scene.shape.Path;
+import javafx.scene.shape.PathElement;
+import javafx.scene.shape.QuadCurveTo;
+
+/**
+ * Read only view of a precompiled glyphs bundle, see {@link SVGGlyphBundleCompiler}.
+ * Only the glyphs index is read when the bundle is opened, the path commands
+ * of a glyph are decoded when its shape is created.
+ * 
+ * <p>Bundle layout (big endian):
+ * <pre>
+ * int    magic ("JFXG")
+ * int    version
+ * string font name
+ * int    glyphs count
+ * glyphs count * { string name, int glyph id, int data offset }
+ * glyphs data  * { int commands count, int coordinates count, byte[] commands, float[] coordinates }
+ * </pre>
+ * strings are stored as a short length followed by the UTF-8 bytes,
+ * data offsets are relative to the end of the index.
+ */
+public final class SVGGlyphBundle {
+
+	static final int MAGIC = 0x4A465847;
+	static final int VERSION = 1;
+
+	// path commands, all coordinates are absolute
+	static final byte MOVE_TO = 0;
+	static final byte LINE_TO = 1;
+	static final byte QUAD_TO = 2;
+	static final byte CUBIC_TO = 3;
+	// radiusX, radiusY, xAxisRotation, flags (1 = large arc, 2 = sweep), x, y
+	static final byte ARC_TO = 4;
+	static final byte CLOSE = 5;
+
+	private final ByteBuffer buffer;
+	private final String fontName;
+	private final String[] names;
+	private final int[] glyphIds;
+	private final int[] offsets;
+
+	private SVGGlyphBundle(ByteBuffer buffer) throws IOException {
+		this.buffer = buffer;
+		if(buffer.getInt() != MAGIC) throw new IOException("not a glyphs bundle");
+		int version = buffer.getInt();
+		if(version != VERSION) throw new IOException("unsupported glyphs bundle version " + version);
+		fontName = readString(buffer);
+		int count = buffer.getInt();
+		names = new String[count];
+		glyphIds = new int[count];
+		offsets = new int[count];
+		for(int i = 0; i < count; i++){
+			names[i] = readString(buffer);
+			glyphIds[i] = buffer.getInt();
+			offsets[i] = buffer.getInt();
+		}
+		int dataStart = buffer.position();
+		for(int i = 0; i < count; i++) offsets[i] += dataStart;
+	}
+
+	/**
+	 * memory maps a bundle file
+	 */
+	public static SVGGlyphBundle map(java.nio.file.Path file) throws IOException {
+		try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)){
+			return new SVGGlyphBundle(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+	}
+
+	/**
+	 * reads a bundle from a stream, e.g. a classpath resource
+	 */
+	public static SVGGlyphBundle read(InputStream stream) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(64 * 1024);
+		byte[] chunk = new byte[8192];
+		int read;
+		while((read = stream.read(chunk)) != -1) out.write(chunk, 0, read);
+		return new SVGGlyphBundle(ByteBuffer.wrap(out.toByteArray()));
+	}
+
+	public String getFontName() {
+		return fontName;
+	}
+
+	public int getGlyphsCount() {
+		return names.length;
+	}
+
+	public String getGlyphName(int index) {
+		return names[index];
+	}
+
+	public int getGlyphId(int index) {
+		return glyphIds[index];
+	}
+
+	/**
+	 * decodes the path commands of a glyph, only absolute reads are used
+	 * on the buffer so shapes can be created from several threads
+	 * 
+	 * @param index
+	 * @return
+	 */
+	public Path createShape(int index) {
+		int position = offsets[index];
+		final int commandsCount = buffer.getInt(position);
+		final int coordsCount = buffer.getInt(position + 4);
+		int command = position + 8;
+		int coord = command + commandsCount;
+		if(coord + coordsCount * 4 > buffer.limit()) throw new IllegalStateException("corrupted glyph " + names[index]);
+
+		List<PathElement> elements = new ArrayList<>(commandsCount);
+		for(int i = 0; i < commandsCount; i++){
+			switch(buffer.get(command + i)){
+			case MOVE_TO:
+				elements.add(new MoveTo(buffer.getFloat(coord), buffer.getFloat(coord + 4)));
+				coord += 8;
+				break;
+			case LINE_TO:
+				elements.add(new LineTo(buffer.getFloat(coord), buffer.getFloat(coord + 4)));
+				coord += 8;
+				break;
+			case QUAD_TO:
+				elements.add(new QuadCurveTo(buffer.getFloat(coord), buffer.getFloat(coord + 4),
+						buffer.getFloat(coord + 8), buffer.getFloat(coord + 12)));
+				coord += 16;
+				break;
+			case CUBIC_TO:
+				elements.add(new CubicCurveTo(buffer.getFloat(coord), buffer.getFloat(coord + 4),
+						buffer.getFloat(coord + 8), buffer.getFloat(coord + 12),
+						buffer.getFloat(coord + 16), buffer.getFloat(coord + 20)));
+				coord += 24;
+				break;
+			case ARC_TO:
+				int flags = (int) buffer.getFloat(coord + 12);
+				elements.add(new ArcTo(buffer.getFloat(coord), buffer.getFloat(coord + 4), buffer.getFloat(coord + 8),
+						buffer.getFloat(coord + 16), buffer.getFloat(coord + 20), (flags & 1) != 0, (flags & 2) != 0));
+				coord += 24;
+				break;
+			case CLOSE:
+				elements.add(new ClosePath());
+				break;
+			default:
+				throw new IllegalStateException("corrupted glyph " + names[index]);
+			}
+		}
+		Path path = new Path();
+		path.getElements().setAll(elements);
+		return path;
+	}
+
+	private static String readString(ByteBuffer buffer){
+		byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,266 @@
+/*
+ * JFoenix
+ * Copyright (c) 2015, JFoenix and/or its affiliates., All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+
+package com.jfoenix.svg;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * Offline tool that compiles an svg font into a glyphs bundle, the path data 
+ * of each glyph is tokenized into absolute commands so no text parsing is
+ * needed when the bundle is loaded by {@link SVGGlyphLoader#loadGlyphsBundle(java.nio.file.Path)}.
+ * 
+ * <pre>
+ * java com.jfoenix.svg.SVGGlyphBundleCompiler icomoon.svg icomoon.jfxg [font name]
+ * </pre>
+ * the font name defaults to the svg file name, glyphs are registered as "fontName.glyphName"
+ */
+public class SVGGlyphBundleCompiler {
+
+	public static void main(String[] args) throws IOException {
+		if(args.length < 2){
+			System.err.println("usage: SVGGlyphBundleCompiler <svg font> <bundle file> [font name]");
+			System.exit(1);
+		}
+		String fontName = args.length > 2 ? args[2] : Paths.get(args[0]).getFileName().toString();
+		try(InputStream in = new BufferedInputStream(Files.newInputStream(Paths.get(args[0])));
+				OutputStream out = new BufferedOutputStream(Files.newOutputStream(Paths.get(args[1])))){
+			int count = compile(in, fontName, out);
+			System.out.println(count + " glyphs written to " + args[1]);
+		}
+	}
+
+	/**
+	 * compiles the glyphs of an svg font into a bundle
+	 * 
+	 * @param svgFont
+	 * @param fontName
+	 * @param out
+	 * @return the number of glyphs written
+	 * @throws IOException
+	 */
+	public static int compile(InputStream svgFont, String fontName, OutputStream out) throws IOException {
+		ByteArrayOutputStream indexBytes = new ByteArrayOutputStream();
+		ByteArrayOutputStream dataBytes = new ByteArrayOutputStream();
+		DataOutputStream index = new DataOutputStream(indexBytes);
+		DataOutputStream data = new DataOutputStream(dataBytes);
+		int[] count = {0};
+		PathCompiler compiler = new PathCompiler();
+
+		SVGGlyphLoader.readGlyphsFont(svgFont, (glyphIndex, glyphName, path)->{
+			try{
+				compiler.compile(path);
+			}catch(IllegalArgumentException e){
+				throw new IOException("invalid path data in glyph " + glyphName, e);
+			}
+			writeString(index, glyphName);
+			index.writeInt(glyphIndex);
+			index.writeInt(data.size());
+			compiler.writeTo(data);
+			count[0]++;
+		});
+
+		DataOutputStream bundle = new DataOutputStream(out);
+		bundle.writeInt(SVGGlyphBundle.MAGIC);
+		bundle.writeInt(SVGGlyphBundle.VERSION);
+		writeString(bundle, fontName);
+		bundle.writeInt(count[0]);
+		indexBytes.writeTo(bundle);
+		dataBytes.writeTo(bundle);
+		bundle.flush();
+		return count[0];
+	}
+
+	private static void writeString(DataOutputStream out, String value) throws IOException {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		if(bytes.length > 0xFFFF) throw new IOException("name too long : " + value);
+		out.writeShort(bytes.length);
+		out.write(bytes);
+	}
+
+	/*
+	 * converts svg path data into absolute move/line/quad/cubic/arc/close commands,
+	 * H/V are converted to lines and S/T control points are resolved
+	 */
+	static class PathCompiler {
+		private byte[] commands = new byte[64];
+		private float[] coords = new float[256];
+		private int commandsCount;
+		private int coordsCount;
+
+		private String data;
+		private int pos;
+
+		void compile(String pathData){
+			data = pathData;
+			pos = 0;
+			commandsCount = 0;
+			coordsCount = 0;
+
+			char command = 0;
+			float x = 0, y = 0, startX = 0, startY = 0;
+			// last control point, used by the smooth curves
+			float ctrlX = 0, ctrlY = 0;
+			char previous = 0;
+
+			while(skipSeparators()){
+				char c = data.charAt(pos);
+				if(isCommand(c)){
+					command = c;
+					pos++;
+				}else if(command == 0){
+					throw new IllegalArgumentException("expected a command at " + pos + " : " + data);
+				}
+				final boolean relative = Character.isLowerCase(command);
+				final float offsetX = relative ? x : 0, offsetY = relative ? y : 0;
+				final char type = Character.toUpperCase(command);
+
+				switch(type){
+				case 'M':
+					x = number() + offsetX; y = number() + offsetY;
+					startX = x; startY = y;
+					add(SVGGlyphBundle.MOVE_TO, x, y);
+					// following coordinates pairs are implicit line commands
+					command = relative ? 'l' : 'L';
+					break;
+				case 'L':
+					x = number() + offsetX; y = number() + offsetY;
+					add(SVGGlyphBundle.LINE_TO, x, y);
+					break;
+				case 'H':
+					x = number() + offsetX;
+					add(SVGGlyphBundle.LINE_TO, x, y);
+					break;
+				case 'V':
+					y = number() + offsetY;
+					add(SVGGlyphBundle.LINE_TO, x, y);
+					break;
+				case 'C':{
+					float x1 = number() + offsetX, y1 = number() + offsetY;
+					ctrlX = number() + offsetX; ctrlY = number() + offsetY;
+					x = number() + offsetX; y = number() + offsetY;
+					add(SVGGlyphBundle.CUBIC_TO, x1, y1, ctrlX, ctrlY, x, y);
+					break;
+				}
+				case 'S':{
+					float x1 = previous == 'C' || previous == 'S' ? 2 * x - ctrlX : x;
+					float y1 = previous == 'C' || previous == 'S' ? 2 * y - ctrlY : y;
+					ctrlX = number() + offsetX; ctrlY = number() + offsetY;
+					x = number() + offsetX; y = number() + offsetY;
+					add(SVGGlyphBundle.CUBIC_TO, x1, y1, ctrlX, ctrlY, x, y);
+					break;
+				}
+				case 'Q':
+					ctrlX = number() + offsetX; ctrlY = number() + offsetY;
+					x = number() + offsetX; y = number() + offsetY;
+					add(SVGGlyphBundle.QUAD_TO, ctrlX, ctrlY, x, y);
+					break;
+				case 'T':
+					ctrlX = previous == 'Q' || previous == 'T' ? 2 * x - ctrlX : x;
+					ctrlY = previous == 'Q' || previous == 'T' ? 2 * y - ctrlY : y;
+					x = number() + offsetX; y = number() + offsetY;
+					add(SVGGlyphBundle.QUAD_TO, ctrlX, ctrlY, x, y);
+					break;
+				case 'A':{
+					float radiusX = number(), radiusY = number(), rotation = number();
+					int flags = (flag() ? 1 : 0) | (flag() ? 2 : 0);
+					x = number() + offsetX; y = number() + offsetY;
+					add(SVGGlyphBundle.ARC_TO, radiusX, radiusY, rotation, flags, x, y);
+					break;
+				}
+				case 'Z':
+					x = startX; y = startY;
+					add(SVGGlyphBundle.CLOSE);
+					// a close command can't be repeated implicitly
+					command = 0;
+					break;
+				default:
+					throw new IllegalArgumentException("unsupported command " + command + " : " + data);
+				}
+				previous = type;
+			}
+		}
+
+		void writeTo(DataOutputStream out) throws IOException {
+			out.writeInt(commandsCount);
+			out.writeInt(coordsCount);
+			out.write(commands, 0, commandsCount);
+			for(int i = 0; i < coordsCount; i++) out.writeFloat(coords[i]);
+		}
+
+		private void add(byte command, float... values){
+			if(commandsCount == commands.length) commands = Arrays.copyOf(commands, commandsCount * 2);
+			commands[commandsCount++] = command;
+			if(coordsCount + values.length > coords.length) coords = Arrays.copyOf(coords, Math.max(coords.length * 2, coordsCount + values.length));
+			System.arraycopy(values, 0, coords, coordsCount, values.length);
+			coordsCount += values.length;
+		}
+
+		private static boolean isCommand(char c){
+			return c != 'e' && c != 'E' && ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z'));
+		}
+
+		// returns false once the end of the data is reached
+		private boolean skipSeparators(){
+			while(pos < data.length() && (Character.isWhitespace(data.charAt(pos)) || data.charAt(pos) == ',')) pos++;
+			return pos < data.length();
+		}
+
+		private boolean flag(){
+			if(!skipSeparators()) throw new IllegalArgumentException("missing arc flag : " + data);
+			char c = data.charAt(pos++);
+			if(c != '0' && c != '1') throw new IllegalArgumentException("invalid arc flag at " + (pos - 1) + " : " + data);
+			return c == '1';
+		}
+
+		private float number(){
+			if(!skipSeparators()) throw new IllegalArgumentException("missing coordinate : " + data);
+			final int start = pos;
+			if(data.charAt(pos) == '-' || data.charAt(pos) == '+') pos++;
+			skipDigits();
+			if(pos < data.length() && data.charAt(pos) == '.'){
+				pos++;
+				skipDigits();
+			}
+			if(pos < data.length() && (data.charAt(pos) == 'e' || data.charAt(pos) == 'E')){
+				pos++;
+				if(pos < data.length() && (data.charAt(pos) == '-' || data.charAt(pos) == '+')) pos++;
+				skipDigits();
+			}
+			try{
+				return Float.parseFloat(data.substring(start, pos));
+			}catch(NumberFormatException e){
+				throw new IllegalArgumentException("invalid number at " + start + " : " + data, e);
+			}
+		}
+
+		private void skipDigits(){
+			while(pos < data.length() && Character.isDigit(data.charAt(pos))) pos++;
+		}
+	}
+}
@@ -19,31 +19,35 @@
 package com.jfoenix.svg;
 
 import java.io.BufferedReader;
-import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.StringReader;
-import java.net.URISyntaxException;
+import java.io.UncheckedIOException;
+import java.io.UnsupportedEncodingException;
 import java.net.URL;
+import java.net.URLDecoder;
+import java.nio.file.Path;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javafx.beans.binding.Bindings;
 import javafx.scene.paint.Color;
+import javafx.scene.shape.Shape;
 import javafx.scene.transform.Scale;
 import javafx.scene.transform.Translate;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
+import com.jfoenix.concurrency.JFXUtilities;
 
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-import org.xml.sax.EntityResolver;
-import org.xml.sax.InputSource;
-import org.xml.sax.SAXException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 /**
  * @author sshahine
@@ -52,10 +56,151 @@ import org.xml.sax.SAXException;
 
 public class SVGGlyphLoader {
 
-	private static HashMap<String, SVGGlyphBuilder> glyphsMap = new HashMap<>();
+	// glyphs can be loaded in the background while others are requested
+	private static ConcurrentHashMap<String, SVGGlyphBuilder> glyphsMap = new ConcurrentHashMap<>();
+
+	// glyphs namespace of each font, published once all the glyphs of the font are loaded
+	private static final ConcurrentHashMap<String, Map<String, SVGGlyphBuilder>> fonts = new ConcurrentHashMap<>();
+	// futures of the loaded fonts and of the fonts being loaded asynchronously, 
+	// the future of a font is evicted if all its loads ended without registering it
+	private static final ConcurrentHashMap<String, CompletableFuture<Void>> fontsLoaded = new ConcurrentHashMap<>();
+	private static final ConcurrentHashMap<String, Integer> pendingLoads = new ConcurrentHashMap<>();
+
+	// parsed glyph paths, shared by all the glyphs created with the same name
+	private static final ConcurrentHashMap<String, Shape> shapesCache = new ConcurrentHashMap<>();
+	private static final AtomicLong cacheHits = new AtomicLong();
+	private static final AtomicLong cacheMisses = new AtomicLong();
 	
+	/**
+	 * @param glyphName the full name of the glyph "fontName.glyphName"
+	 * @return a new glyph
+	 * @throws IllegalArgumentException if the glyph is not loaded
+	 */
 	public static SVGGlyph getGlyph(String glyphName){
-		return glyphsMap.get(glyphName).build();
+		return getBuilder(glyphName).build();
+	}
+
+	/**
+	 * @param fontName
+	 * @param glyphName
+	 * @return a new glyph
+	 * @throws IllegalArgumentException if the glyph is not loaded
+	 */
+	public static SVGGlyph getGlyph(String fontName, String glyphName){
+		Map<String, SVGGlyphBuilder> font = fonts.get(fontName);
+		SVGGlyphBuilder builder = font == null ? null : font.get(glyphName);
+		if(builder == null) throw new IllegalArgumentException("glyph " + glyphName + " not found in font " + fontName);
+		return builder.build();
+	}
+
+	/**
+	 * non blocking lookup, if the font is still loading an invisible placeholder glyph 
+	 * is returned, its shape is set in the FX thread once the font is loaded.
+	 * The placeholder stays empty if the font fails to load, is not being loaded 
+	 * or doesn't contain the glyph.
+	 * 
+	 * @param fontName
+	 * @param glyphName
+	 * @return
+	 */
+	public static SVGGlyph getGlyphOrPlaceholder(String fontName, String glyphName){
+		Map<String, SVGGlyphBuilder> font = fonts.get(fontName);
+		if(font != null && font.containsKey(glyphName)) return font.get(glyphName).build();
+
+		SVGGlyph placeholder = new SVGGlyph(-1, glyphName, (Shape) null, Color.BLACK);
+		placeholder.setVisible(false);
+		whenFontLoaded(fontName).whenComplete((result, error)->{
+			if(error != null) return;
+			Map<String, SVGGlyphBuilder> loadedFont = fonts.get(fontName);
+			SVGGlyphBuilder builder = loadedFont == null ? null : loadedFont.get(glyphName);
+			if(builder != null){
+				Shape shape = getShape(builder.key, builder);
+				JFXUtilities.runInFX(()->{
+					placeholder.resolve(builder.glyphId, shape);
+					placeholder.setVisible(true);
+				});
+			}
+		});
+		return placeholder;
+	}
+
+	/**
+	 * @param fontName
+	 * @return a future completed once the glyphs of the font are available, 
+	 * or completed exceptionally if its asynchronous loading failed or 
+	 * if the font is neither loaded nor being loaded
+	 */
+	public static CompletableFuture<Void> whenFontLoaded(String fontName){
+		CompletableFuture<Void> future = fontsLoaded.get(fontName);
+		if(future != null) return future;
+		future = new CompletableFuture<>();
+		future.completeExceptionally(new IllegalStateException("font " + fontName + " is not loaded"));
+		return future;
+	}
+
+	public static boolean isFontLoaded(String fontName){
+		return fonts.containsKey(fontName);
+	}
+
+	public static Set<String> getLoadedFonts(){
+		return Collections.unmodifiableSet(new HashSet<>(fonts.keySet()));
+	}
+
+	/**
+	 * @param fontName
+	 * @return a snapshot of the glyph names of the font, empty if the font is not loaded
+	 */
+	public static Set<String> getGlyphsIDs(String fontName){
+		Map<String, SVGGlyphBuilder> font = fonts.get(fontName);
+		return font == null ? Collections.emptySet() : Collections.unmodifiableSet(font.keySet());
+	}
+
+	private static SVGGlyphBuilder getBuilder(String glyphName){
+		SVGGlyphBuilder builder = glyphsMap.get(glyphName);
+		if(builder == null) throw new IllegalArgumentException("glyph " + glyphName + " not found");
+		return builder;
+	}
+
+	/*
+	 * returns the shared path of the glyph, the path content is only 
+	 * parsed the first time the glyph is requested
+	 */
+	static Shape getShape(String glyphName, SVGGlyphBuilder builder){
+		Shape shape = shapesCache.get(glyphName);
+		if(shape != null){
+			cacheHits.incrementAndGet();
+			return shape;
+		}
+		shape = shapesCache.computeIfAbsent(glyphName, (key)->{
+			cacheMisses.incrementAndGet();
+			Shape path = builder.createShape();
+			// computing the bounds forces the path content to be parsed
+			path.getLayoutBounds();
+			return path;
+		});
+		return shape;
+	}
+
+	public static long getCacheHits(){
+		return cacheHits.get();
+	}
+
+	public static long getCacheMisses(){
+		return cacheMisses.get();
+	}
+
+	public static int getCacheSize(){
+		return shapesCache.size();
+	}
+
+	/**
+	 * removes all parsed paths from the cache and resets the cache statistics, 
+	 * glyphs already created keep their paths
+	 */
+	public static void clearCache(){
+		shapesCache.clear();
+		cacheHits.set(0);
+		cacheMisses.set(0);
 	}
 
 	/*
@@ -64,7 +209,7 @@ public class SVGGlyphLoader {
 	 * its being after importing from icomoon
 	 */
 	public static SVGGlyph getIcoMoonGlyph(String glyphName){
-		SVGGlyph glyph = glyphsMap.get(glyphName).build();
+		SVGGlyph glyph = getBuilder(glyphName).build();
 		glyph.getTransforms().add(new Scale(1,-1));
 		Translate height = new Translate();
 		height.yProperty().bind(Bindings.createDoubleBinding(()-> -glyph.getHeight() , glyph.heightProperty()));
@@ -72,52 +217,233 @@ public class SVGGlyphLoader {
 		return glyph;
 	}
 	
+	/**
+	 * @return a snapshot of the full names of all loaded glyphs
+	 */
 	public static Set<String> getAllGlyphsIDs(){
-		return glyphsMap.keySet();
+		return Collections.unmodifiableSet(new HashSet<>(glyphsMap.keySet()));
 	}
 	
 	public static void loadGlyphsFont(URL url) throws IOException {
+		try(InputStream stream = url.openStream()){
+			loadGlyphsFont(stream, getFileName(url));
+		}
+	}
+
+	/**
+	 * loads the glyphs of an svg font located in the classpath, e.g. "/resources/fonts/icomoon.svg"
+	 * 
+	 * @param resourceName
+	 * @throws IOException
+	 */
+	public static void loadGlyphsFontFromClasspath(String resourceName) throws IOException {
+		URL url = SVGGlyphLoader.class.getResource(resourceName);
+		if(url == null) throw new IOException("svg font " + resourceName + " not found in the classpath");
+		loadGlyphsFont(url);
+	}
+
+	/**
+	 * loads the glyphs of an svg font in a background thread, the returned future
+	 * completes once all the glyphs are available
+	 * 
+	 * @param url
+	 * @return
+	 */
+	public static CompletableFuture<Void> loadGlyphsFontAsync(URL url){
+		final String fontName = getFileName(url);
+		fontLoadStarted(fontName);
+		return CompletableFuture.runAsync(()->{
+			try {
+				loadGlyphsFont(url);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}).whenComplete((result, error)-> fontLoadEnded(fontName, error));
+	}
+
+	/**
+	 * loads several svg fonts in parallel, each font is available as soon as 
+	 * it's loaded (see {@link #whenFontLoaded(String)})
+	 * 
+	 * @param urls
+	 * @return a future completed once all the fonts are loaded
+	 */
+	public static CompletableFuture<Void> loadGlyphsFontsAsync(URL... urls){
+		CompletableFuture<?>[] loads = new CompletableFuture<?>[urls.length];
+		for(int i = 0; i < urls.length; i++) loads[i] = loadGlyphsFontAsync(urls[i]);
+		return CompletableFuture.allOf(loads);
+	}
+
+	/**
+	 * streams the svg font and only keeps the name and the path of each glyph,
+	 * glyphs are registered as "fontName.glyphName"
+	 * 
+	 * @param stream
+	 * @param fontName
+	 * @throws IOException
+	 */
+	public static void loadGlyphsFont(InputStream stream, String fontName) throws IOException {
+		Map<String, SVGGlyphBuilder> glyphs = new HashMap<>();
+		readGlyphsFont(stream, (index, glyphId, path)->{
+			glyphs.put(glyphId, new SVGGlyphBuilder(index, glyphId, fontName + "." + glyphId, path));
+		});
+		registerFont(fontName, glyphs);
+	}
+
+	/**
+	 * loads a glyphs bundle created by {@link SVGGlyphBundleCompiler}, the bundle file 
+	 * is memory mapped and each glyph is only decoded the first time it's requested
+	 * 
+	 * @param bundleFile
+	 * @throws IOException
+	 */
+	public static void loadGlyphsBundle(Path bundleFile) throws IOException {
+		loadGlyphsBundle(SVGGlyphBundle.map(bundleFile));
+	}
+
+	/**
+	 * loads a glyphs bundle located in the classpath, e.g. "/resources/fonts/icomoon.jfxg"
+	 * 
+	 * @param resourceName
+	 * @throws IOException
+	 */
+	public static void loadGlyphsBundleFromClasspath(String resourceName) throws IOException {
+		try(InputStream stream = SVGGlyphLoader.class.getResourceAsStream(resourceName)){
+			if(stream == null) throw new IOException("glyphs bundle " + resourceName + " not found in the classpath");
+			loadGlyphsBundle(SVGGlyphBundle.read(stream));
+		}
+	}
+
+	/**
+	 * loads a glyphs bundle file in a background thread
+	 * 
+	 * @param bundleFile
+	 * @return
+	 */
+	public static CompletableFuture<Void> loadGlyphsBundleAsync(Path bundleFile){
+		return loadGlyphsBundleAsync(bundleFile, null);
+	}
+
+	/**
+	 * loads a glyphs bundle file in a background thread, as the font name is stored 
+	 * in the bundle, it's specified so the font can be waited for while the bundle 
+	 * is loading, and fails if the bundle can't be loaded (see {@link #whenFontLoaded(String)})
+	 * 
+	 * @param bundleFile
+	 * @param fontName the font name of the bundle
+	 * @return
+	 */
+	public static CompletableFuture<Void> loadGlyphsBundleAsync(Path bundleFile, String fontName){
+		fontLoadStarted(fontName);
+		return CompletableFuture.runAsync(()->{
+			try {
+				loadGlyphsBundle(bundleFile);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}).whenComplete((result, error)-> fontLoadEnded(fontName, error));
+	}
+
+	private static void loadGlyphsBundle(SVGGlyphBundle bundle){
+		Map<String, SVGGlyphBuilder> glyphs = new HashMap<>();
+		for(int i = 0; i < bundle.getGlyphsCount(); i++){
+			String glyphKey = bundle.getFontName() + "." + bundle.getGlyphName(i);
+			glyphs.put(bundle.getGlyphName(i), new BundleGlyphBuilder(bundle, i, glyphKey));
+		}
+		registerFont(bundle.getFontName(), glyphs);
+	}
+
+	/*
+	 * publishes the glyphs of a font, replacing the previous glyphs if the font is reloaded
+	 */
+	private static void registerFont(String fontName, Map<String, SVGGlyphBuilder> glyphs){
+		Map<String, SVGGlyphBuilder> oldGlyphs = fonts.put(fontName, Collections.unmodifiableMap(glyphs));
+		for(SVGGlyphBuilder builder : glyphs.values()){
+			glyphsMap.put(builder.key, builder);
+			// the font could be reloaded with a different content
+			shapesCache.remove(builder.key);
+		}
+		if(oldGlyphs != null){
+			for(SVGGlyphBuilder builder : oldGlyphs.values()){
+				if(!glyphs.containsKey(builder.name)){
+					glyphsMap.remove(builder.key, builder);
+					shapesCache.remove(builder.key);
+				}
+			}
+		}
+		// the future of a previous failed load is replaced
+		fontsLoaded.compute(fontName, (key, future)-> future == null || future.isCompletedExceptionally() ? new CompletableFuture<>() : future).complete(null);
+	}
+
+	/*
+	 * creates the future of the font, so it can be waited for while it's loading
+	 */
+	private static synchronized void fontLoadStarted(String fontName){
+		if(fontName == null) return;
+		pendingLoads.merge(fontName, 1, Integer::sum);
+		fontsLoaded.computeIfAbsent(fontName, (key)-> new CompletableFuture<>());
+	}
+
+	/*
+	 * once the last pending load of a font ended without registering it, its future 
+	 * is failed and evicted, so placeholders waiting for it are released
+	 */
+	private static synchronized void fontLoadEnded(String fontName, Throwable error){
+		if(fontName == null) return;
+		if(pendingLoads.computeIfPresent(fontName, (key, count)-> count == 1 ? null : count - 1) != null) return;
+		CompletableFuture<Void> future = fontsLoaded.get(fontName);
+		if(future == null || future.isDone()) return;
+		fontsLoaded.remove(fontName, future);
+		future.completeExceptionally(error != null ? error : new IllegalStateException("font " + fontName + " was not found in the loaded glyphs"));
+	}
+
+	interface GlyphHandler {
+		void handle(int index, String glyphName, String path) throws IOException;
+	}
+
+	/*
+	 * streams the glyph elements of an svg font, only the glyph-name and d 
+	 * attributes are read. glyph indexes count the glyphs without names as well
+	 */
+	static void readGlyphsFont(InputStream stream, GlyphHandler handler) throws IOException {
+		XMLStreamReader reader = null;
 		try {
-			DocumentBuilderFactory docFactory = DocumentBuilderFactory.newInstance();	
-			DocumentBuilder docBuilder = docFactory.newDocumentBuilder();
-			
-			docBuilder.setEntityResolver(new EntityResolver() {
-	            @Override
-	            public InputSource resolveEntity(String publicId, String systemId) throws SAXException, IOException {
-	            	// disable dtd entites at runtime
-//	                System.out.println("Ignoring " + publicId + ", " + systemId);
-	                return new InputSource(new StringReader(""));
-	            }
-	        });
-			
-			File svgFontFile = new File(url.toURI());
-			Document doc = docBuilder.parse(svgFontFile);	
-			doc.getDocumentElement().normalize();
-			
-			NodeList glyphsList = doc.getElementsByTagName("glyph");
-			for (int i = 0; i < glyphsList.getLength(); i++) {
-				 Node glyph = glyphsList.item(i);
-				 Node glyphName = glyph.getAttributes().getNamedItem("glyph-name");
-				 if(glyphName == null) continue;
-				
-				 String glyphId = glyphName.getNodeValue();
-				 SVGGlyphBuilder glyphPane = new SVGGlyphBuilder(i, glyphId, (String)glyph.getAttributes().getNamedItem("d").getNodeValue());
-				 glyphsMap.put(svgFontFile.getName() + "." + glyphId, glyphPane);
-				 
+			XMLInputFactory factory = XMLInputFactory.newInstance();
+			// disable dtd entites
+			factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+			factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+			reader = factory.createXMLStreamReader(stream);
+
+			int index = 0;
+			while(reader.hasNext()){
+				if(reader.next() != XMLStreamConstants.START_ELEMENT || !"glyph".equals(reader.getLocalName())) continue;
+				int glyphIndex = index++;
+				String glyphId = reader.getAttributeValue(null, "glyph-name");
+				String path = reader.getAttributeValue(null, "d");
+				if(glyphId == null || path == null) continue;
+				handler.handle(glyphIndex, glyphId, path);
+			}
+		} catch (XMLStreamException e) {
+			throw new IOException(e);
+		} finally {
+			if(reader != null){
+				try {
+					reader.close();
+				} catch (XMLStreamException e) {
+					e.printStackTrace();
+				}
 			}
-			
-		} catch (ParserConfigurationException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		} catch (SAXException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		} catch (URISyntaxException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
 		}
-		
-		glyphsMap.size();
+	}
+
+	private static String getFileName(URL url){
+		String path = url.getPath();
+		String fileName = path.substring(path.lastIndexOf('/') + 1);
+		try {
+			return URLDecoder.decode(fileName.replace("+", "%2B"), "UTF-8");
+		} catch (UnsupportedEncodingException e) {
+			return fileName;
+		}
 	}
 	
 	public static SVGGlyph loadGlyph(URL url) throws IOException {
@@ -175,17 +501,39 @@ public class SVGGlyphLoader {
 class SVGGlyphBuilder{
 	int glyphId;
 	String name;
+	String key;
 	String svgPathContent;
 	
-	public SVGGlyphBuilder(int glyphId, String name, String svgPathContent) {
+	public SVGGlyphBuilder(int glyphId, String name, String key, String svgPathContent) {
 		super();
 		this.glyphId = glyphId;
 		this.name = name;
+		this.key = key;
 		this.svgPathContent = svgPathContent;
 	}
 
 	SVGGlyph build(){
-		return new SVGGlyph(glyphId, name, svgPathContent, Color.BLACK);
+		return new SVGGlyph(glyphId, name, SVGGlyphLoader.getShape(key, this), Color.BLACK);
+	}
+
+	Shape createShape(){
+		return SVGGlyph.createShape(svgPathContent);
 	}
 	
 }
+
+class BundleGlyphBuilder extends SVGGlyphBuilder{
+	private final SVGGlyphBundle bundle;
+	private final int index;
+
+	public BundleGlyphBuilder(SVGGlyphBundle bundle, int index, String key) {
+		super(bundle.getGlyphId(index), bundle.getGlyphName(index), key, null);
+		this.bundle = bundle;
+		this.index = index;
+	}
+
+	@Override
+	Shape createShape(){
+		return bundle.createShape(index);
+	}
+}
@@ -18,15 +18,28 @@
 
 package com.jfoenix.transitions;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+import javafx.animation.Interpolator;
+import javafx.animation.KeyFrame;
+import javafx.animation.KeyValue;
 import javafx.animation.Timeline;
 import javafx.animation.Transition;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
+import javafx.beans.value.WritableDoubleValue;
+import javafx.beans.value.WritableFloatValue;
+import javafx.beans.value.WritableIntegerValue;
+import javafx.beans.value.WritableValue;
 import javafx.scene.CacheHint;
 import javafx.scene.Node;
-import javafx.util.Duration;
+
+import com.jfoenix.instrumentation.JFXInstrumentation;
 /**
  * @author sshahine
  * 
@@ -36,14 +49,19 @@ public class CachedTransition extends Transition {
 	protected ObjectProperty<Timeline> timeline = new SimpleObjectProperty<>();
 	private CacheHint oldCacheHint = CacheHint.DEFAULT;
 	private boolean oldCache = false;
+	// key frames of the timeline, compiled when the transition starts
+	private KeyFrameEngine engine;
 
 	public CachedTransition(final Node node, final Timeline timeline) {
 		this.node = node;
 		this.timeline.set(timeline);
+		this.timeline.addListener((o,oldVal,newVal)-> engine = null);
 		statusProperty().addListener(new ChangeListener<Status>() {
 			@Override public void changed(ObservableValue<? extends Status> ov, Status t, Status newStatus) {
 				switch(newStatus) {
 				case RUNNING:
+					// key frames could be changed between two runs
+					if(t == Status.STOPPED) engine = null;
 					starting();
 					break;
 				default:
@@ -69,8 +87,158 @@ public class CachedTransition extends Transition {
 		node.setCache(oldCache);
 		node.setCacheHint(oldCacheHint);
 	}
+	/**
+	 * evaluates the key frames of the timeline at d seconds and sets the 
+	 * interpolated values directly, the timeline itself is never played
+	 */
 	@Override protected void interpolate(double d) {
-		timeline.get().playFrom(Duration.seconds(d));
-		timeline.get().stop();
+		final long start = JFXInstrumentation.start();
+		if(engine == null) engine = new KeyFrameEngine(timeline.get());
+		engine.evaluate(d * 1000);
+		JFXInstrumentation.stop("CachedTransition.interpolate", start);
+	}
+
+	/*
+	 * key values of a timeline compiled into flat arrays of segments, each target 
+	 * owns the segments [targetSegments[i], targetSegments[i+1]) sorted by time.
+	 * targets without a key value at time 0 start from their value when the 
+	 * engine is created (i.e. when the transition starts).
+	 */
+	private static final class KeyFrameEngine {
+		private static final byte DOUBLE = 0;
+		private static final byte FLOAT = 1;
+		private static final byte INTEGER = 2;
+		private static final byte OBJECT = 3;
+
+		private final WritableValue<?>[] targets;
+		private final byte[] types;
+		private final int[] targetSegments;
+		// last evaluated segment of each target, animations move forward or backward smoothly
+		private final int[] currentSegments;
+
+		private final double[] startTimes;
+		private final double[] endTimes;
+		private final double[] startValues;
+		private final double[] endValues;
+		private final Object[] startObjects;
+		private final Object[] endObjects;
+		private final Interpolator[] interpolators;
+
+		KeyFrameEngine(Timeline timeline) {
+			List<KeyFrame> keyFrames = new ArrayList<>(timeline.getKeyFrames());
+			Collections.sort(keyFrames, (a, b)-> Double.compare(a.getTime().toMillis(), b.getTime().toMillis()));
+
+			// collect the key values of each target
+			IdentityHashMap<WritableValue<?>, Integer> indexes = new IdentityHashMap<>();
+			List<WritableValue<?>> targetsList = new ArrayList<>();
+			List<List<KeyFrame>> framesList = new ArrayList<>();
+			List<List<KeyValue>> valuesList = new ArrayList<>();
+			int segmentsCount = 0;
+			for(KeyFrame keyFrame : keyFrames){
+				if(!Double.isFinite(keyFrame.getTime().toMillis())) continue;
+				for(KeyValue keyValue : keyFrame.getValues()){
+					Integer index = indexes.get(keyValue.getTarget());
+					if(index == null){
+						index = targetsList.size();
+						indexes.put(keyValue.getTarget(), index);
+						targetsList.add(keyValue.getTarget());
+						framesList.add(new ArrayList<>());
+						valuesList.add(new ArrayList<>());
+					}
+					// each key value ends a segment starting at the previous key value
+					segmentsCount++;
+					framesList.get(index).add(keyFrame);
+					valuesList.get(index).add(keyValue);
+				}
+			}
+
+			final int targetsCount = targetsList.size();
+			targets = targetsList.toArray(new WritableValue<?>[targetsCount]);
+			types = new byte[targetsCount];
+			targetSegments = new int[targetsCount + 1];
+			currentSegments = new int[targetsCount];
+			startTimes = new double[segmentsCount];
+			endTimes = new double[segmentsCount];
+			startValues = new double[segmentsCount];
+			endValues = new double[segmentsCount];
+			startObjects = new Object[segmentsCount];
+			endObjects = new Object[segmentsCount];
+			interpolators = new Interpolator[segmentsCount];
+
+			int segment = 0;
+			for(int i = 0; i < targetsCount; i++){
+				List<KeyFrame> frames = framesList.get(i);
+				List<KeyValue> values = valuesList.get(i);
+				types[i] = typeOf(targets[i], values);
+				targetSegments[i] = segment;
+				currentSegments[i] = segment;
+
+				// the first segment starts from the current value, a key value 
+				// at time 0 gives an empty segment that just sets the value
+				double previousTime = 0;
+				Object previousValue = targets[i].getValue();
+				for(int j = 0; j < values.size(); j++){
+					double time = frames.get(j).getTime().toMillis();
+					Object value = values.get(j).getEndValue();
+					startTimes[segment] = previousTime;
+					endTimes[segment] = time;
+					startObjects[segment] = previousValue;
+					endObjects[segment] = value;
+					if(types[i] != OBJECT){
+						startValues[segment] = previousValue == null ? 0 : ((Number) previousValue).doubleValue();
+						endValues[segment] = ((Number) value).doubleValue();
+					}
+					interpolators[segment] = values.get(j).getInterpolator();
+					previousTime = time;
+					previousValue = value;
+					segment++;
+				}
+			}
+			targetSegments[targetsCount] = segment;
+		}
+
+		private static byte typeOf(WritableValue<?> target, List<KeyValue> values){
+			for(KeyValue value : values){
+				if(!(value.getEndValue() instanceof Number)) return OBJECT;
+			}
+			if(target instanceof WritableDoubleValue) return DOUBLE;
+			if(target instanceof WritableFloatValue) return FLOAT;
+			if(target instanceof WritableIntegerValue) return INTEGER;
+			return OBJECT;
+		}
+
+		@SuppressWarnings("unchecked")
+		void evaluate(double time){
+			for(int i = 0; i < targets.length; i++){
+				final int first = targetSegments[i], last = targetSegments[i + 1] - 1;
+				if(last < first) continue;
+				// find the segment containing the time, starting from the last one used
+				int segment = currentSegments[i];
+				while(segment > first && time < startTimes[segment]) segment--;
+				while(segment < last && time > endTimes[segment]) segment++;
+				currentSegments[i] = segment;
+
+				final double duration = endTimes[segment] - startTimes[segment];
+				double fraction = duration <= 0 ? 1 : (time - startTimes[segment]) / duration;
+				if(fraction < 0) fraction = 0;
+				else if(fraction > 1) fraction = 1;
+
+				final Interpolator interpolator = interpolators[segment];
+				switch(types[i]){
+				case DOUBLE:
+					((WritableDoubleValue) targets[i]).set(interpolator.interpolate(startValues[segment], endValues[segment], fraction));
+					break;
+				case FLOAT:
+					((WritableFloatValue) targets[i]).set((float) interpolator.interpolate(startValues[segment], endValues[segment], fraction));
+					break;
+				case INTEGER:
+					((WritableIntegerValue) targets[i]).set(interpolator.interpolate((int) startValues[segment], (int) endValues[segment], fraction));
+					break;
+				default:
+					((WritableValue<Object>) targets[i]).setValue(interpolator.interpolate(startObjects[segment], endObjects[segment], fraction));
+					break;
+				}
+			}
+		}
 	}
-}
\ No newline at end of file
+}
\ No newline at end of file
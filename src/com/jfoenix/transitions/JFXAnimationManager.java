@@ -0,0 +1,220 @@
+/*
+ * JFoenix
+ * Copyright (c) 2015, JFoenix and/or its affiliates., All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+
+package com.jfoenix.transitions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javafx.animation.Animation;
+import javafx.animation.Animation.Status;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.ReadOnlyIntegerWrapper;
+import javafx.beans.value.ChangeListener;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.stage.Window;
+import javafx.util.Duration;
+
+/**
+ * Runs the endless animations of JFoenix controls only while their node is showing,
+ * i.e. the node and all its parents are visible and the node is in a showing window.
+ * Hidden animations are paused and resumed in phase: an indefinite animation resumes 
+ * at the time it would have reached if it was never paused.
+ * 
+ * <p>All methods must be called from the FX thread.
+ */
+public final class JFXAnimationManager {
+
+	private static final String TRACKER_KEY = "jfx-animation-tracker";
+
+	private static final AtomicInteger activeCount = new AtomicInteger();
+	private static final AtomicInteger pausedCount = new AtomicInteger();
+	private static final ReadOnlyIntegerWrapper activeAnimations = new ReadOnlyIntegerWrapper(0);
+
+	private JFXAnimationManager() {
+	}
+
+	/**
+	 * plays the animation while the node is showing, replacing the 
+	 * animation previously played for the node if any.
+	 * stopping the animation stops tracking the node.
+	 * 
+	 * @param node
+	 * @param animation
+	 */
+	public static void playWhileShowing(Node node, Animation animation){
+		stop(node);
+		AnimationTracker tracker = new AnimationTracker(node, animation);
+		node.getProperties().put(TRACKER_KEY, tracker);
+		tracker.attach();
+	}
+
+	/**
+	 * stops the animation played for the node
+	 * 
+	 * @param node
+	 */
+	public static void stop(Node node){
+		AnimationTracker tracker = (AnimationTracker) node.getProperties().get(TRACKER_KEY);
+		if(tracker != null){
+			tracker.animation.stop();
+			// the animation could be already stopped if it was never shown
+			tracker.detach();
+		}
+	}
+
+	/**
+	 * @return the number of tracked animations currently running
+	 */
+	public static int getActiveAnimationsCount(){
+		return activeCount.get();
+	}
+
+	/**
+	 * @return the number of tracked animations paused because their node is not showing
+	 */
+	public static int getPausedAnimationsCount(){
+		return pausedCount.get();
+	}
+
+	public static ReadOnlyIntegerProperty activeAnimationsCountProperty(){
+		return activeAnimations.getReadOnlyProperty();
+	}
+
+	private static void updateActiveCount(int delta){
+		activeAnimations.set(activeCount.addAndGet(delta));
+	}
+
+	private static final class AnimationTracker implements InvalidationListener {
+		private final Node node;
+		private final Animation animation;
+		private final List<Node> ancestors = new ArrayList<>();
+		private Scene scene;
+		private Window window;
+
+		private boolean showing;
+		private boolean paused;
+		private long pauseTime;
+		private double pauseCurrentTime;
+
+		private final ChangeListener<Status> statusListener = (o, oldVal, newVal)->{
+			if(oldVal == Status.RUNNING) updateActiveCount(-1);
+			if(newVal == Status.RUNNING) updateActiveCount(1);
+			// stopped by the control
+			if(newVal == Status.STOPPED) detach();
+		};
+
+		AnimationTracker(Node node, Animation animation) {
+			this.node = node;
+			this.animation = animation;
+		}
+
+		void attach(){
+			node.sceneProperty().addListener(this);
+			animation.statusProperty().addListener(statusListener);
+			if(animation.getStatus() == Status.RUNNING) updateActiveCount(1);
+			listen();
+			showing = isShowing();
+			if(showing) animation.play();
+			else pause();
+		}
+
+		void detach(){
+			unlisten();
+			node.sceneProperty().removeListener(this);
+			animation.statusProperty().removeListener(statusListener);
+			if(animation.getStatus() == Status.RUNNING) updateActiveCount(-1);
+			if(paused){
+				paused = false;
+				pausedCount.decrementAndGet();
+			}
+			node.getProperties().remove(TRACKER_KEY, this);
+		}
+
+		@Override
+		public void invalidated(Observable observable) {
+			// the parents, scene or window could be changed so listeners are registered again
+			unlisten();
+			listen();
+			boolean nowShowing = isShowing();
+			if(nowShowing == showing) return;
+			showing = nowShowing;
+			if(showing) resume();
+			else if(animation.getStatus() == Status.RUNNING) pause();
+		}
+
+		private void pause(){
+			paused = true;
+			pausedCount.incrementAndGet();
+			pauseTime = System.nanoTime();
+			pauseCurrentTime = animation.getCurrentTime().toMillis();
+			animation.pause();
+		}
+
+		private void resume(){
+			if(!paused) return;
+			paused = false;
+			pausedCount.decrementAndGet();
+			final double cycle = animation.getCycleDuration().toMillis();
+			if(animation.getCycleCount() == Animation.INDEFINITE && cycle > 0 && !Double.isInfinite(cycle)){
+				double elapsed = (System.nanoTime() - pauseTime) / 1e6 * animation.getRate();
+				double time = (pauseCurrentTime + elapsed) % cycle;
+				animation.jumpTo(Duration.millis(time < 0 ? time + cycle : time));
+			}
+			animation.play();
+		}
+
+		// all observed values are read so their invalidation is notified again
+		private boolean isShowing(){
+			boolean visible = true;
+			for(Node ancestor : ancestors) visible &= ancestor.isVisible();
+			boolean windowShowing = window != null && window.isShowing();
+			return visible && windowShowing;
+		}
+
+		private void listen(){
+			for(Node ancestor = node; ancestor != null; ancestor = ancestor.getParent()){
+				ancestors.add(ancestor);
+				ancestor.visibleProperty().addListener(this);
+				ancestor.parentProperty().addListener(this);
+			}
+			scene = node.getScene();
+			if(scene != null){
+				scene.windowProperty().addListener(this);
+				window = scene.getWindow();
+				if(window != null) window.showingProperty().addListener(this);
+			}
+		}
+
+		private void unlisten(){
+			for(Node ancestor : ancestors){
+				ancestor.visibleProperty().removeListener(this);
+				ancestor.parentProperty().removeListener(this);
+			}
+			ancestors.clear();
+			if(scene != null) scene.windowProperty().removeListener(this);
+			if(window != null) window.showingProperty().removeListener(this);
+			scene = null;
+			window = null;
+		}
+	}
+}